@@ -0,0 +1,69 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks aggregations of {@link TrainingColumns} holding {@code trainings} trainings of 100000 users,
+ * spread evenly over two years.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TrainingColumnsBenchmark {
+
+    private static final long FIRST_DAY_MILLIS = LocalDate.of(2023, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    private static final long TWO_YEARS_MILLIS = TimeUnit.DAYS.toMillis(730);
+    private static final int USERS = 100_000;
+
+    @Param({"10000000"})
+    private int trainings;
+
+    private TrainingColumns columns;
+    private TrainingAnalyticsQuery weeklyDistancePerActivityType;
+    private TrainingAnalyticsQuery runningOfUserPerMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ActivityType[] activityTypes = ActivityType.values();
+        SplittableRandom random = new SplittableRandom(42);
+        columns = new TrainingColumns(ZoneOffset.UTC);
+        columns.replaceAll(LongStream.rangeClosed(1, trainings).mapToObj(id -> {
+            long startTime = FIRST_DAY_MILLIS + random.nextLong(TWO_YEARS_MILLIS);
+            return new TrainingSnapshot(
+                    id,
+                    (long) random.nextInt(USERS),
+                    new Date(startTime),
+                    new Date(startTime + random.nextLong(TimeUnit.HOURS.toMillis(3))),
+                    activityTypes[random.nextInt(activityTypes.length)],
+                    random.nextDouble(50),
+                    random.nextDouble(30));
+        }));
+
+        weeklyDistancePerActivityType = new TrainingAnalyticsQuery(
+                null, Long.MIN_VALUE, Long.MAX_VALUE, TrainingAnalyticsQuery.ALL_ACTIVITY_TYPES, TimeBucket.WEEK, true);
+        runningOfUserPerMonth = new TrainingAnalyticsQuery(
+                42L, Long.MIN_VALUE, Long.MAX_VALUE, 1 << ActivityType.RUNNING.ordinal(), TimeBucket.MONTH, false);
+    }
+
+    @Benchmark
+    public TrainingAnalyticsDto weeklyDistancePerActivityType() {
+        return columns.aggregate(weeklyDistancePerActivityType);
+    }
+
+    @Benchmark
+    public TrainingAnalyticsDto runningOfUserPerMonth() {
+        return columns.aggregate(runningOfUserPerMonth);
+    }
+}
@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rank lookups and score changes of {@link RankedScores} ranking {@code users} users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankedScoresBenchmark {
+
+    @Param({"1000000"})
+    private int users;
+
+    private RankedScores scores;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+        Map<Long, Double> initialScores = new HashMap<>();
+        for (long userId = 1; userId <= users; userId++) {
+            initialScores.put(userId, random.nextDouble(500));
+        }
+        scores = new RankedScores();
+        scores.replaceAll(initialScores);
+    }
+
+    @Benchmark
+    public LeaderboardDto.Entry rankOfUser() {
+        return scores.entryOf(random.nextLong(1, users + 1));
+    }
+
+    @Benchmark
+    public void changeScoreOfUser() {
+        scores.put(random.nextLong(1, users + 1), random.nextDouble(500));
+    }
+}
@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks sending a batch of emails to a local GreenMail SMTP server, one session per email ({@code simple})
+ * versus reused connections ({@code pooled}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailSenderBenchmark {
+
+    @Param({"simple", "pooled"})
+    private String mode;
+
+    @Param({"100"})
+    private int emails;
+
+    private GreenMail greenMail;
+    private PooledEmailSender pooledEmailSender;
+    private EmailSender emailSender;
+    private List<EmailDto> batch;
+
+    @Setup
+    public void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        MailProperties mailProperties = new MailProperties("tracker@domain.com", "localhost", greenMail.getSmtp().getPort());
+        JavaMailSenderImpl mailSender = new MailConfig().javaMailSender(mailProperties);
+        mailSender.getJavaMailProperties().put("mail.debug", "false");
+        if (mode.equals("pooled")) {
+            EmailSenderProperties properties = new EmailSenderProperties(EmailSenderProperties.Mode.POOLED, 4, 20, 100);
+            pooledEmailSender = new PooledEmailSender(mailSender, mailProperties, properties, new SimpleMeterRegistry());
+            emailSender = pooledEmailSender;
+        } else {
+            emailSender = new EmailSenderImpl(mailSender, mailProperties, new SimpleMeterRegistry());
+        }
+
+        batch = IntStream.range(0, emails)
+                .mapToObj(i -> new EmailDto("user" + i + "@domain.com", "Monthly report " + i, "Trainings of the month " + i))
+                .toList();
+    }
+
+    @TearDown(Level.Iteration)
+    public void purgeMailboxes() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pooledEmailSender != null) {
+            pooledEmailSender.destroy();
+        }
+        greenMail.stop();
+    }
+
+    @Benchmark
+    public Map<Integer, Exception> sendBatch() {
+        return emailSender.sendAll(batch);
+    }
+}
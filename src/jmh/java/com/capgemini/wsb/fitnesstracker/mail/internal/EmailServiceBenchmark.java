@@ -0,0 +1,62 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyTrainingReportDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks formatting of the monthly training and admin report emails with thousands of entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int entries;
+
+    // Formatting never touches the outbox.
+    private final EmailService emailService = new EmailService(null);
+
+    private MonthlyTrainingReportDto trainingReport;
+    private MonthlyAdminReportDto adminReport;
+
+    @Setup
+    public void setUp() {
+        UserDto user = new UserDto(1L, "Emma", "Johnson", LocalDate.of(1990, 5, 1), "emma.johnson@domain.com");
+        ActivityType[] activityTypes = ActivityType.values();
+        List<TrainingDto> trainings = new ArrayList<>(entries);
+        List<MonthlyAdminReportDto.UserTrainingSummary> summaries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            Date startTime = new Date(1_700_000_000_000L + i * 60_000L);
+            trainings.add(new TrainingDto(user, startTime, new Date(startTime.getTime() + 3_600_000L),
+                    activityTypes[i % activityTypes.length], i % 42, 10.5));
+            summaries.add(new MonthlyAdminReportDto.UserTrainingSummary(
+                    (long) i, "First" + i + " Last" + i, "user" + i + "@domain.com", i % 30, i * 1.5));
+        }
+        trainingReport = new MonthlyTrainingReportDto(user.id(), "Emma Johnson", user.email(), trainings);
+        adminReport = new MonthlyAdminReportDto("2024-10", summaries);
+    }
+
+    @Benchmark
+    public String formatTrainingReport() {
+        return emailService.formatTrainingReport(trainingReport);
+    }
+
+    @Benchmark
+    public String formatAdminReport() {
+        return emailService.formatAdminReport(adminReport);
+    }
+}
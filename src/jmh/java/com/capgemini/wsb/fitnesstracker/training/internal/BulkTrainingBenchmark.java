@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.training.api.BulkTrainingResultDto;
+import com.capgemini.wsb.fitnesstracker.training.api.CreateTrainingRequestDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TrainingServiceImpl#createTrainings(List)} against an in-memory H2 database.
+ * The score is the number of trainings created per second, every invocation creating {@value #TRAININGS} trainings
+ * of {@value #USERS} users.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BulkTrainingBenchmark.TRAININGS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkTrainingBenchmark {
+
+    static final int TRAININGS = 1000;
+    private static final int USERS = 20;
+
+    private ConfigurableApplicationContext context;
+    private TrainingServiceImpl trainingService;
+    private List<CreateTrainingRequestDto> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FitnessTracker.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql", "false",
+                "logging.level.root", "warn"));
+        context = application.run();
+        trainingService = context.getBean(TrainingServiceImpl.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> userRows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userRows.add(new Object[]{"First" + i, "Last" + i, LocalDate.of(1990, 1, 1), "bulk" + i + "@benchmark.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, version, first_name, last_name, birthdate, email) VALUES (NEXT VALUE FOR users_seq, 0, ?, ?, ?, ?)", userRows);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'bulk%' ORDER BY id", Long.class);
+
+        ActivityType[] activityTypes = ActivityType.values();
+        requests = new ArrayList<>(TRAININGS);
+        for (int i = 0; i < TRAININGS; i++) {
+            Date startTime = new Date(1_700_000_000_000L + i * 60_000L);
+            requests.add(new CreateTrainingRequestDto(userIds.get(i % USERS), startTime, new Date(startTime.getTime() + 3_600_000L),
+                    activityTypes[i % activityTypes.length], 5.0 + i % 20, 10.0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkTrainingResultDto createTrainings() {
+        return trainingService.createTrainings(requests);
+    }
+}
@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserDto;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mapping of large lists of trainings and users to their DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final UserMapper userMapper = new UserMapper();
+    private final TrainingMapper trainingMapper = new TrainingMapper(userMapper);
+
+    private List<User> users;
+    private List<Training> trainings;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(size);
+        trainings = new ArrayList<>(size);
+        ActivityType[] activityTypes = ActivityType.values();
+        for (int i = 0; i < size; i++) {
+            User user = new User("First" + i, "Last" + i, LocalDate.of(1980, 1, 1).plusDays(i % 10_000), "user" + i + "@domain.com");
+            users.add(user);
+            Date startTime = new Date(1_700_000_000_000L + i * 60_000L);
+            trainings.add(new Training(user, startTime, new Date(startTime.getTime() + 3_600_000L),
+                    activityTypes[i % activityTypes.length], i % 42, 10.5));
+        }
+    }
+
+    @Benchmark
+    public List<TrainingDto> trainingMapperToDto() {
+        return trainings.stream().map(trainingMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> userMapperToDto() {
+        return users.stream().map(userMapper::toDto).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyTrainingReportDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TrainingServiceImpl#generateMonthlyReport(Long, LocalDate)} against an in-memory H2 database
+ * holding {@code users * trainingsPerUser} trainings, spread evenly over twelve months.
+ * The dataset size is set with the JMH parameters, e.g. {@code -Djmh.args="-p users=10000 -p trainingsPerUser=120"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonthlyReportBenchmark {
+
+    private static final LocalDate FIRST_MONTH = LocalDate.of(2024, 1, 1);
+    private static final int MONTHS = 12;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"60"})
+    private int trainingsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TrainingServiceImpl trainingService;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FitnessTracker.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql", "false",
+                "logging.level.root", "warn"));
+        context = application.run();
+        trainingService = context.getBean(TrainingServiceImpl.class);
+        populate(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MonthlyTrainingReportDto generateMonthlyReport() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long userId = userIds.get(random.nextInt(userIds.size()));
+        return trainingService.generateMonthlyReport(userId, FIRST_MONTH.plusMonths(random.nextInt(MONTHS)));
+    }
+
+    private void populate(JdbcTemplate jdbcTemplate) {
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"First" + i, "Last" + i, LocalDate.of(1980, 1, 1).plusDays(i % 10_000), "user" + i + "@benchmark.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, version, first_name, last_name, birthdate, email) VALUES (NEXT VALUE FOR users_seq, 0, ?, ?, ?, ?)", userRows);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        int activityTypes = ActivityType.values().length;
+        List<Object[]> trainingRows = new ArrayList<>(BATCH_SIZE);
+        for (Long userId : userIds) {
+            for (int i = 0; i < trainingsPerUser; i++) {
+                LocalDateTime startTime = FIRST_MONTH.plusMonths(i % MONTHS).atTime(6, 0).plusDays(i / MONTHS % 28);
+                trainingRows.add(new Object[]{userId, Timestamp.valueOf(startTime), Timestamp.valueOf(startTime.plusHours(1)),
+                        i % activityTypes, 5.0 + i % 20, 10.0});
+                if (trainingRows.size() == BATCH_SIZE) {
+                    insertTrainings(jdbcTemplate, trainingRows);
+                }
+            }
+        }
+        insertTrainings(jdbcTemplate, trainingRows);
+    }
+
+    private static void insertTrainings(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO trainings (id, version, user_id, start_time, end_time, activity_type, distance, average_speed)
+                VALUES (NEXT VALUE FOR trainings_seq, 0, ?, ?, ?, ?, ?, ?)""", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller that manages endpoints for achievements of users.
+ */
+@RestController
+@RequestMapping("/v1/achievements")
+@RequiredArgsConstructor
+class AchievementController {
+
+    private final AchievementEngine achievementEngine;
+
+    /**
+     * Retrieves all configured achievement rules.
+     *
+     * @return the list of rules.
+     */
+    @GetMapping("/rules")
+    public List<AchievementRule> getRules() {
+        return achievementEngine.getRules();
+    }
+
+    /**
+     * Retrieves the achievements awarded to a specific user. Achievements are awarded shortly after the trainings
+     * reaching them are saved.
+     *
+     * @param userId the ID of the user.
+     * @return the achievements of the user, the earliest first.
+     */
+    @GetMapping("/users/{userId}")
+    public List<AchievementDto> getUserAchievements(@PathVariable Long userId) {
+        return achievementEngine.getAchievements(userId);
+    }
+
+    /**
+     * Starts re-evaluating all rules against the existing trainings of all users, rebuilding their counters and
+     * awarding the achievements reached by trainings that were never evaluated.
+     *
+     * @return a ResponseEntity with 202 Accepted, as the rules are re-evaluated in the background.
+     */
+    @PostMapping("/reevaluate")
+    public ResponseEntity<String> reevaluate() {
+        List<AchievementRule> rules = achievementEngine.getRules();
+        achievementEngine.reevaluate(rules);
+        return ResponseEntity.accepted().body("Re-evaluating " + rules.size() + " achievement rules");
+    }
+}
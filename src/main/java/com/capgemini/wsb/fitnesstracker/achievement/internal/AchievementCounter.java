@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The state of a user kept for evaluating achievement rules, e.g. the total running distance or the number
+ * of trainings in a month, see {@link AchievementRuleType}.
+ *
+ * <p>Counters are updated in place by every changed training, so a rule is evaluated without rescanning the trainings
+ * of the user.</p>
+ */
+@Entity
+@Table(name = "achievement_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_achievement_counters_key", columnNames = {"user_id", "counter_key"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class AchievementCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "counter_key", nullable = false)
+    private String key;
+
+    @Column(name = "counter_value", nullable = false)
+    private double value;
+
+    AchievementCounter(final Long userId, final String key, final double value) {
+        this.userId = userId;
+        this.key = key;
+        this.value = value;
+    }
+}
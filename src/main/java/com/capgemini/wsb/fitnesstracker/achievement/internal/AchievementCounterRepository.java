@@ -0,0 +1,64 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+interface AchievementCounterRepository extends JpaRepository<AchievementCounter, Long> {
+
+    /**
+     * Adds to a counter in place, without reading it first.
+     * Native SQL, as Hibernate renders an invalid H2 cast for a {@code double} parameter in a JPQL arithmetic update.
+     *
+     * @param userId the ID of the user.
+     * @param key the key of the counter.
+     * @param amount the added amount, negative to subtract.
+     * @return the number of updated rows, {@code 0} if there is no such counter yet.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE achievement_counters
+            SET counter_value = counter_value + :amount
+            WHERE user_id = :userId AND counter_key = :key""", nativeQuery = true)
+    int add(@Param("userId") Long userId, @Param("key") String key, @Param("amount") double amount);
+
+    /**
+     * Raises a counter to the given value in place, unless it is already higher.
+     *
+     * @param userId the ID of the user.
+     * @param key the key of the counter.
+     * @param value the new value of the counter, if higher.
+     * @return the number of updated rows, {@code 0} if there is no such counter yet.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE achievement_counters
+            SET counter_value = GREATEST(counter_value, :value)
+            WHERE user_id = :userId AND counter_key = :key""", nativeQuery = true)
+    int raise(@Param("userId") Long userId, @Param("key") String key, @Param("value") double value);
+
+    /**
+     * Sets a counter in place.
+     *
+     * @param userId the ID of the user.
+     * @param key the key of the counter.
+     * @param value the new value of the counter.
+     * @return the number of updated rows, {@code 0} if there is no such counter yet.
+     */
+    @Modifying
+    @Query("UPDATE AchievementCounter c SET c.value = :value WHERE c.userId = :userId AND c.key = :key")
+    int set(@Param("userId") Long userId, @Param("key") String key, @Param("value") double value);
+
+    /**
+     * Reads the value of a counter.
+     *
+     * @param userId the ID of the user.
+     * @param key the key of the counter.
+     * @return the value of the counter, or empty if there is no such counter.
+     */
+    @Query("SELECT c.value FROM AchievementCounter c WHERE c.userId = :userId AND c.key = :key")
+    Optional<Double> findValue(@Param("userId") Long userId, @Param("key") String key);
+}
@@ -0,0 +1,12 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import java.time.Instant;
+
+/**
+ * An achievement awarded to a user.
+ *
+ * @param code the code of the rule of the achievement.
+ * @param name the name of the achievement.
+ * @param awardedAt when the achievement was awarded.
+ */
+record AchievementDto(String code, String name, Instant awardedAt) {}
@@ -0,0 +1,349 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates the {@link AchievementRule achievement rules} against created and updated trainings.
+ *
+ * <p>Rules are evaluated incrementally: once a transaction changing trainings commits, the changes are handed to
+ * a single evaluation thread, which adds them to the {@link AchievementCounter counters} of their users and awards
+ * the achievements whose counters reached the threshold, so the request changing the trainings never waits for
+ * the evaluation. Running every evaluation on the same thread applies the changes in commit order without locking
+ * the counters. Pending evaluations are not persisted; changes committed right before the application stops may be
+ * missed until the rules are {@link #reevaluate re-evaluated}.</p>
+ *
+ * <p>Rules added to the configuration are evaluated against the existing trainings once the application is ready,
+ * chunk by chunk on the same evaluation thread, after which they are recorded as {@link EvaluatedAchievementRule
+ * evaluated}. A chunk already counts the trainings committed before it reads them, even though their evaluations may
+ * still be queued behind it. To tell them apart, every queued evaluation takes the next commit sequence number, and a
+ * chunk reads the trainings while no transaction changing trainings is between its commit and queueing its evaluation,
+ * recording the last sequence number as its watermark. Evaluations at or below the watermark then skip the counters
+ * the chunk has rebuilt, so no training is counted twice.</p>
+ */
+@Component
+@Slf4j
+class AchievementEngine implements DisposableBean {
+
+    private final AchievementCounterRepository counterRepository;
+    private final UserAchievementRepository userAchievementRepository;
+    private final EvaluatedAchievementRuleRepository evaluatedRuleRepository;
+    private final AchievementTrainingRepository trainingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AchievementProperties properties;
+    private final CalendarProperties calendarProperties;
+    private final Map<String, AchievementRule> rulesByCode;
+    private final ExecutorService evaluator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("achievements-"));
+
+    /**
+     * Held shared from the commit of a transaction changing trainings until its evaluation is queued, and exclusively
+     * while a re-evaluated chunk reads the trainings.
+     */
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    /**
+     * Watermarks of the re-evaluated chunks whose earlier evaluations are still queued. Like the last evaluated
+     * sequence number, accessed only on the evaluation thread.
+     */
+    private final Deque<Watermark> watermarks = new ArrayDeque<>();
+
+    private long lastSequence;
+
+    private long lastEvaluatedSequence;
+
+    AchievementEngine(
+            AchievementCounterRepository counterRepository,
+            UserAchievementRepository userAchievementRepository,
+            EvaluatedAchievementRuleRepository evaluatedRuleRepository,
+            AchievementTrainingRepository trainingRepository,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            AchievementProperties properties,
+            CalendarProperties calendarProperties) {
+        this.counterRepository = counterRepository;
+        this.userAchievementRepository = userAchievementRepository;
+        this.evaluatedRuleRepository = evaluatedRuleRepository;
+        this.trainingRepository = trainingRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.calendarProperties = calendarProperties;
+        this.rulesByCode = properties.getRules().stream()
+                .collect(Collectors.toMap(AchievementRule::code, Function.identity()));
+    }
+
+    /**
+     * Returns all configured rules.
+     *
+     * @return the rules, in the configured order.
+     */
+    public List<AchievementRule> getRules() {
+        return properties.getRules();
+    }
+
+    /**
+     * Returns the achievements awarded to a user.
+     *
+     * @param userId the ID of the user.
+     * @return the achievements of the user whose rules are still configured, the earliest first.
+     */
+    public List<AchievementDto> getAchievements(Long userId) {
+        return userAchievementRepository.findAllByUserIdOrderByAwardedAtAscIdAsc(userId).stream()
+                .filter(achievement -> rulesByCode.containsKey(achievement.getRuleCode()))
+                .map(achievement -> new AchievementDto(
+                        achievement.getRuleCode(),
+                        rulesByCode.get(achievement.getRuleCode()).name(),
+                        achievement.getAwardedAt()))
+                .toList();
+    }
+
+    /**
+     * Hands the changed trainings to the evaluation thread once the transaction changing them commits.
+     * The commit gate is held from right before the commit until the evaluation is queued.
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        commitGate.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        queueEvaluation(event.changes());
+                    }
+                } finally {
+                    commitGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized void queueEvaluation(List<TrainingsChangedEvent.Change> changes) {
+        long sequence = ++lastSequence;
+        evaluator.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> evaluate(changes, sequence));
+            } catch (RuntimeException e) {
+                log.error("Failed to evaluate achievements of {} changed trainings", changes.size(), e);
+            } finally {
+                lastEvaluatedSequence = sequence;
+                watermarks.removeIf(watermark -> watermark.sequence() <= sequence);
+            }
+        });
+    }
+
+    private synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Evaluates the rules that were never evaluated against the existing trainings.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void evaluateNewRules() {
+        Set<String> evaluated = evaluatedRuleRepository.findAll().stream()
+                .map(EvaluatedAchievementRule::getRuleCode)
+                .collect(Collectors.toSet());
+        List<AchievementRule> newRules = properties.getRules().stream()
+                .filter(rule -> !evaluated.contains(rule.code()))
+                .toList();
+        if (!newRules.isEmpty()) {
+            reevaluate(newRules);
+        }
+    }
+
+    /**
+     * Re-evaluates rules against the existing trainings of all users, rebuilding their counters. Users are split
+     * into chunks, each re-evaluated in its own transaction on the evaluation thread.
+     *
+     * @param rules the rules to re-evaluate.
+     * @return a future completed with the number of re-evaluated users once all chunks are re-evaluated.
+     */
+    public CompletableFuture<Integer> reevaluate(List<AchievementRule> rules) {
+        List<Long> userIds = userRepository.findAllIds();
+        int chunkSize = properties.getReevaluationChunkSize();
+        log.info("Re-evaluating {} achievement rules for {} users", rules.size(), userIds.size());
+
+        CompletableFuture<?>[] chunks = IntStream.range(0, (userIds.size() + chunkSize - 1) / chunkSize)
+                .mapToObj(chunk -> userIds.subList(chunk * chunkSize, Math.min(userIds.size(), (chunk + 1) * chunkSize)))
+                .map(chunk -> CompletableFuture.runAsync(
+                        () -> transactionTemplate.executeWithoutResult(status -> reevaluate(rules, chunk)), evaluator))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(chunks)
+                .thenApply(done -> {
+                    Instant now = Instant.now();
+                    evaluatedRuleRepository.saveAll(rules.stream()
+                            .map(rule -> new EvaluatedAchievementRule(rule.code(), now))
+                            .toList());
+                    log.info("Finished re-evaluating {} achievement rules for {} users", rules.size(), userIds.size());
+                    return userIds.size();
+                })
+                .whenComplete((users, e) -> {
+                    if (e != null) {
+                        log.error("Failed to re-evaluate achievement rules", e);
+                    }
+                });
+    }
+
+    private void evaluate(List<TrainingsChangedEvent.Change> changes, long sequence) {
+        Map<Counter, Double> sums = new HashMap<>();
+        Map<Counter, Double> maxima = new HashMap<>();
+        Map<Counter, Set<AchievementRule>> candidates = new HashMap<>();
+        for (TrainingsChangedEvent.Change change : changes) {
+            if (change.previous() != null) {
+                collect(properties.getRules(), change.previous(), -1, sums, maxima, null, rebuiltKeys(change.previous(), sequence));
+            }
+            collect(properties.getRules(), change.current(), 1, sums, maxima, candidates, rebuiltKeys(change.current(), sequence));
+        }
+
+        sums.forEach((counter, amount) -> {
+            if (counterRepository.add(counter.userId(), counter.key(), amount) == 0) {
+                counterRepository.save(new AchievementCounter(counter.userId(), counter.key(), amount));
+            }
+        });
+        maxima.forEach((counter, value) -> {
+            if (counterRepository.raise(counter.userId(), counter.key(), value) == 0) {
+                counterRepository.save(new AchievementCounter(counter.userId(), counter.key(), value));
+            }
+        });
+        candidates.forEach((counter, rules) -> counterRepository.findValue(counter.userId(), counter.key())
+                .ifPresent(value -> award(counter.userId(), rules, value)));
+    }
+
+    /**
+     * Keys of the counters of the training's user rebuilt by chunks that already counted a change with the given
+     * sequence number.
+     */
+    private Set<String> rebuiltKeys(TrainingSnapshot training, long sequence) {
+        Set<String> keys = new HashSet<>();
+        for (Watermark watermark : watermarks) {
+            if (watermark.sequence() >= sequence && watermark.userIds().contains(training.userId())) {
+                for (AchievementRule rule : watermark.rules()) {
+                    String key = rule.counterKey(training, calendarProperties.getZone());
+                    if (key != null) {
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Collects the contributions of a training to the counters of the given rules, counting it once per counter shared
+     * by several rules and skipping the counters already counting it.
+     */
+    private void collect(
+            List<AchievementRule> rules,
+            TrainingSnapshot training,
+            int sign,
+            Map<Counter, Double> sums,
+            Map<Counter, Double> maxima,
+            @Nullable Map<Counter, Set<AchievementRule>> candidates,
+            Set<String> counted) {
+        Set<String> keys = new HashSet<>(counted);
+        for (AchievementRule rule : rules) {
+            String key = rule.counterKey(training, calendarProperties.getZone());
+            if (key == null) {
+                continue;
+            }
+            Counter counter = new Counter(training.userId(), key);
+            if (candidates != null) {
+                candidates.computeIfAbsent(counter, c -> new LinkedHashSet<>()).add(rule);
+            }
+            if (!keys.add(key)) {
+                continue;
+            }
+            double contribution = rule.type().contribution(training);
+            if (!rule.type().isMaximum()) {
+                sums.merge(counter, sign * contribution, Double::sum);
+            } else if (sign > 0) {
+                maxima.merge(counter, contribution, Math::max);
+            }
+        }
+    }
+
+    private void reevaluate(List<AchievementRule> rules, List<Long> userIds) {
+        List<TrainingSnapshot> trainings;
+        commitGate.writeLock().lock();
+        try {
+            trainings = trainingRepository.findTrainingSnapshotsOfUsers(userIds);
+            long sequence = lastSequence();
+            if (sequence > lastEvaluatedSequence) {
+                watermarks.add(new Watermark(sequence, Set.copyOf(userIds), rules));
+            }
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+
+        Map<Counter, Double> values = new HashMap<>();
+        Map<Counter, Set<AchievementRule>> candidates = new HashMap<>();
+        for (TrainingSnapshot training : trainings) {
+            collect(rules, training, 1, values, values, candidates, Set.of());
+        }
+
+        values.forEach((counter, value) -> {
+            if (counterRepository.set(counter.userId(), counter.key(), value) == 0) {
+                counterRepository.save(new AchievementCounter(counter.userId(), counter.key(), value));
+            }
+        });
+        candidates.forEach((counter, candidateRules) -> award(counter.userId(), candidateRules, values.get(counter)));
+    }
+
+    private void award(Long userId, Set<AchievementRule> rules, double value) {
+        Instant now = Instant.now();
+        for (AchievementRule rule : rules) {
+            if (value >= rule.threshold() && !userAchievementRepository.existsByUserIdAndRuleCode(userId, rule.code())) {
+                userAchievementRepository.save(new UserAchievement(userId, rule.code(), now));
+                log.info("Awarded achievement {} to user {}", rule.code(), userId);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        evaluator.shutdown();
+    }
+
+    private record Counter(Long userId, String key) {}
+
+    /**
+     * A re-evaluated chunk, counting the changes of its users up to the given sequence number by the given rules.
+     */
+    private record Watermark(long sequence, Set<Long> userIds, List<AchievementRule> rules) {}
+}
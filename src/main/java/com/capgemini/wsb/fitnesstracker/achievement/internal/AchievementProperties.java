@@ -0,0 +1,42 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration of the achievements evaluated by the {@link AchievementEngine}.
+ */
+@ConfigurationProperties(prefix = "achievement")
+@Getter
+class AchievementProperties {
+
+    /**
+     * Rules of all achievements. Rules added later are evaluated against the existing trainings once the application
+     * starts.
+     */
+    private final List<AchievementRule> rules;
+
+    /**
+     * Number of users whose existing trainings are re-evaluated in a single transaction.
+     */
+    private final int reevaluationChunkSize;
+
+    AchievementProperties(
+            @DefaultValue List<AchievementRule> rules,
+            @DefaultValue("500") int reevaluationChunkSize) {
+        Set<String> codes = new HashSet<>();
+        for (AchievementRule rule : rules) {
+            if (!codes.add(rule.code())) {
+                throw new IllegalArgumentException("Duplicate achievement rule code: " + rule.code());
+            }
+        }
+        this.rules = List.copyOf(rules);
+        this.reevaluationChunkSize = reevaluationChunkSize;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.time.ZoneId;
+
+/**
+ * A declarative achievement rule, awarded to a user once a counter of the rule reaches its threshold.
+ *
+ * @param code the unique code of the rule, e.g. {@code first-100-km-running}.
+ * @param name the human-readable name of the achievement.
+ * @param type the kind of counter the rule is evaluated against.
+ * @param activityType the activity type of the counted trainings, or {@code null} to count trainings of all types.
+ * @param threshold the value of the counter the achievement is awarded at.
+ */
+public record AchievementRule(
+        String code,
+        String name,
+        AchievementRuleType type,
+        @Nullable ActivityType activityType,
+        double threshold
+) {
+
+    /**
+     * Returns the key of the counter of this rule the training contributes to.
+     *
+     * @param training the training.
+     * @param zone the time zone the calendar periods of the counters are taken in.
+     * @return the key of the counter, or {@code null} if the rule does not count the training.
+     */
+    @Nullable
+    String counterKey(TrainingSnapshot training, ZoneId zone) {
+        if (activityType != null && activityType != training.activityType()) {
+            return null;
+        }
+        return type.counterKey(activityType == null ? "*" : activityType.name(), training, zone);
+    }
+}
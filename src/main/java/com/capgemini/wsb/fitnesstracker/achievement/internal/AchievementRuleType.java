@@ -0,0 +1,94 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+/**
+ * Kinds of {@link AchievementRule}, each defining the per-user counter the rule is evaluated against.
+ *
+ * <p>A counter is identified by a key derived from a training, so every training contributes to exactly one counter
+ * of a rule, and rules of the same type and activity type share their counters.</p>
+ */
+public enum AchievementRuleType {
+
+    /**
+     * Total distance of all trainings.
+     */
+    TOTAL_DISTANCE(false) {
+        @Override
+        String counterKey(String activityTypes, TrainingSnapshot training, ZoneId zone) {
+            return name() + ":" + activityTypes;
+        }
+
+        @Override
+        double contribution(TrainingSnapshot training) {
+            return training.distance();
+        }
+    },
+
+    /**
+     * Number of trainings started in a single calendar month, in the calendar zone.
+     */
+    TRAININGS_IN_MONTH(false) {
+        @Override
+        String counterKey(String activityTypes, TrainingSnapshot training, ZoneId zone) {
+            YearMonth month = YearMonth.from(training.startTime().toInstant().atZone(zone));
+            return name() + ":" + activityTypes + ":" + month;
+        }
+
+        @Override
+        double contribution(TrainingSnapshot training) {
+            return 1;
+        }
+    },
+
+    /**
+     * Highest average speed of a single training. Never decreases, even if the fastest training is updated.
+     */
+    BEST_SPEED(true) {
+        @Override
+        String counterKey(String activityTypes, TrainingSnapshot training, ZoneId zone) {
+            return name() + ":" + activityTypes;
+        }
+
+        @Override
+        double contribution(TrainingSnapshot training) {
+            return training.averageSpeed();
+        }
+    };
+
+    private final boolean maximum;
+
+    AchievementRuleType(boolean maximum) {
+        this.maximum = maximum;
+    }
+
+    /**
+     * Tells whether the counters keep the highest contribution instead of the sum of all contributions.
+     *
+     * @return {@code true} for maximum counters.
+     */
+    boolean isMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Returns the key of the counter the training contributes to.
+     *
+     * @param activityTypes the activity types counted by the rule, {@code *} for all of them.
+     * @param training the training.
+     * @param zone the time zone the calendar periods of the counters are taken in.
+     * @return the key of the counter.
+     */
+    abstract String counterKey(String activityTypes, TrainingSnapshot training, ZoneId zone);
+
+    /**
+     * Returns the amount the training contributes to its counter.
+     *
+     * @param training the training.
+     * @return the contribution of the training.
+     */
+    abstract double contribution(TrainingSnapshot training);
+}
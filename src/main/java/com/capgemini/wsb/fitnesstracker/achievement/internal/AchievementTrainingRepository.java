@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only access to the trainings table for re-evaluating achievement rules.
+ */
+interface AchievementTrainingRepository extends Repository<Training, Long> {
+
+    /**
+     * Finds snapshots of all trainings of the given users, without loading the training entities.
+     *
+     * @param userIds the IDs of the users.
+     * @return snapshots of the trainings of the users.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)
+            FROM Training t
+            WHERE t.user.id IN :userIds""")
+    List<TrainingSnapshot> findTrainingSnapshotsOfUsers(@Param("userIds") Collection<Long> userIds);
+}
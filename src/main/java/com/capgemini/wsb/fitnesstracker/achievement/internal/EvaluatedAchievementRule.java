@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A rule whose counters were built from the existing trainings, so it only needs to be evaluated incrementally.
+ */
+@Entity
+@Table(name = "evaluated_achievement_rules")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class EvaluatedAchievementRule {
+
+    @Id
+    @Column(name = "rule_code")
+    private String ruleCode;
+
+    @Column(name = "evaluated_at", nullable = false)
+    private Instant evaluatedAt;
+
+    EvaluatedAchievementRule(final String ruleCode, final Instant evaluatedAt) {
+        this.ruleCode = ruleCode;
+        this.evaluatedAt = evaluatedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+interface EvaluatedAchievementRuleRepository extends JpaRepository<EvaluatedAchievementRule, String> {
+}
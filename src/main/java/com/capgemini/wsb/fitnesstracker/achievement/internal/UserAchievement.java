@@ -0,0 +1,42 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * An achievement awarded to a user. Achievements are never revoked, even if the trainings they were awarded for
+ * are updated later.
+ */
+@Entity
+@Table(name = "user_achievements", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_achievements_rule", columnNames = {"user_id", "rule_code"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class UserAchievement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rule_code", nullable = false)
+    private String ruleCode;
+
+    @Column(name = "awarded_at", nullable = false)
+    private Instant awardedAt;
+
+    UserAchievement(final Long userId, final String ruleCode, final Instant awardedAt) {
+        this.userId = userId;
+        this.ruleCode = ruleCode;
+        this.awardedAt = awardedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
+
+    /**
+     * Finds the achievements of a user, served by the unique key.
+     *
+     * @param userId the ID of the user.
+     * @return the achievements of the user, the earliest first.
+     */
+    List<UserAchievement> findAllByUserIdOrderByAwardedAtAscIdAsc(Long userId);
+
+    /**
+     * Tells whether a user has been awarded an achievement.
+     *
+     * @param userId the ID of the user.
+     * @param ruleCode the code of the rule of the achievement.
+     * @return {@code true} if the achievement was awarded.
+     */
+    boolean existsByUserIdAndRuleCode(Long userId, String ruleCode);
+}
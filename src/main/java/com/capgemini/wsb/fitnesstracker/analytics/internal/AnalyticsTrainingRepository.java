@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Read-only access to the trainings table for loading {@link TrainingColumns}.
+ */
+interface AnalyticsTrainingRepository extends Repository<Training, Long> {
+
+    /**
+     * Streams snapshots of all trainings ordered by ID, without loading the training entities.
+     * Rows are read from a database cursor 1000 at a time; the stream must be consumed and closed within a transaction.
+     *
+     * @return the stream of snapshots of all trainings.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)
+            FROM Training t
+            ORDER BY t.id""")
+    Stream<TrainingSnapshot> streamAllSnapshots();
+}
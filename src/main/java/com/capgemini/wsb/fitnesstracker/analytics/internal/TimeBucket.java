@@ -0,0 +1,103 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import java.time.LocalDate;
+
+/**
+ * Calendar period trainings are grouped by in analytics queries.
+ *
+ * <p>Buckets are computed from epoch milliseconds with integer arithmetic only, so grouping a scan does not create
+ * any date object per training. The milliseconds are local times shifted by the offset of the calendar zone, so
+ * the UTC calendar fields computed from them are those of the zone.</p>
+ */
+public enum TimeBucket {
+
+    DAY {
+        @Override
+        long of(long epochMillis) {
+            return epochDay(epochMillis);
+        }
+
+        @Override
+        LocalDate firstDay(long bucket) {
+            return LocalDate.ofEpochDay(bucket);
+        }
+    },
+
+    /**
+     * The week from Monday to Sunday.
+     */
+    WEEK {
+        @Override
+        long of(long epochMillis) {
+            // 1970-01-01 was a Thursday
+            return Math.floorDiv(epochDay(epochMillis) + 3, 7);
+        }
+
+        @Override
+        LocalDate firstDay(long bucket) {
+            return LocalDate.ofEpochDay(bucket * 7 - 3);
+        }
+    },
+
+    MONTH {
+        @Override
+        long of(long epochMillis) {
+            return epochMonth(epochDay(epochMillis));
+        }
+
+        @Override
+        LocalDate firstDay(long bucket) {
+            return LocalDate.of((int) Math.floorDiv(bucket, 12), (int) Math.floorMod(bucket, 12) + 1, 1);
+        }
+    },
+
+    YEAR {
+        @Override
+        long of(long epochMillis) {
+            return Math.floorDiv(epochMonth(epochDay(epochMillis)), 12);
+        }
+
+        @Override
+        LocalDate firstDay(long bucket) {
+            return LocalDate.of((int) bucket, 1, 1);
+        }
+    };
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Returns the bucket containing the given local time.
+     *
+     * @param epochMillis the local time, in milliseconds since the epoch as if it were in UTC.
+     * @return the consecutive number of the bucket.
+     */
+    abstract long of(long epochMillis);
+
+    /**
+     * Returns the first day of the given bucket.
+     *
+     * @param bucket the consecutive number of the bucket.
+     * @return the first day of the bucket.
+     */
+    abstract LocalDate firstDay(long bucket);
+
+    private static long epochDay(long epochMillis) {
+        return Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Converts an epoch day to {@code year * 12 + month - 1} of the proleptic Gregorian calendar,
+     * with the civil-from-days algorithm of H. Hinnant.
+     */
+    private static long epochMonth(long epochDay) {
+        long days = epochDay + 719_468;
+        long era = Math.floorDiv(days, 146_097);
+        long dayOfEra = days - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long marchBasedMonth = (5 * dayOfYear + 2) / 153;
+        long month = marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+}
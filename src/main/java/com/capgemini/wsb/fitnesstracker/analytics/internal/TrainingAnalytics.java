@@ -0,0 +1,76 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Answers analytical queries over all trainings from {@link TrainingColumns} held in memory.
+ *
+ * <p>The columns are loaded from the database once the application is ready, and trainings created or updated
+ * through the {@link TrainingsChangedEvent} are upserted once their transaction commits, so rolled back changes
+ * are never visible. Trainings written to the database directly are only picked up by {@link #reload()}.</p>
+ */
+@Component
+@Slf4j
+class TrainingAnalytics {
+
+    private final AnalyticsTrainingRepository trainingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrainingColumns columns;
+
+    TrainingAnalytics(
+            AnalyticsTrainingRepository trainingRepository,
+            TransactionTemplate transactionTemplate,
+            CalendarProperties calendarProperties) {
+        this.trainingRepository = trainingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.columns = new TrainingColumns(calendarProperties.getZone());
+    }
+
+    /**
+     * Reloads all trainings from the database. Queries wait until the trainings are loaded.
+     *
+     * @return the number of loaded trainings.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int reload() {
+        Integer loaded = transactionTemplate.execute(status -> {
+            try (Stream<TrainingSnapshot> trainings = trainingRepository.streamAllSnapshots()) {
+                return columns.replaceAll(trainings);
+            }
+        });
+        log.info("Loaded {} trainings for analytics", loaded);
+        return loaded;
+    }
+
+    /**
+     * Upserts the current state of the changed trainings once the transaction changing them commits.
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @TransactionalEventListener
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        columns.upsertAll(event.changes().stream()
+                .map(TrainingsChangedEvent.Change::current)
+                .toList());
+    }
+
+    /**
+     * Aggregates the trainings matching the query per group.
+     *
+     * @param query the filters and grouping of the aggregation.
+     * @return the aggregates of every group with any matching training.
+     */
+    public TrainingAnalyticsDto aggregate(TrainingAnalyticsQuery query) {
+        return columns.aggregate(query);
+    }
+}
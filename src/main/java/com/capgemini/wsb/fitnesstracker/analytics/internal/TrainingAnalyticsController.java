@@ -0,0 +1,70 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/analytics/trainings")
+@RequiredArgsConstructor
+class TrainingAnalyticsController {
+
+    private final TrainingAnalytics trainingAnalytics;
+    private final CalendarProperties calendarProperties;
+
+    /**
+     * Aggregates the trainings of all or a single user, grouped by activity type and/or by a calendar period in the
+     * {@link CalendarProperties#getZone() calendar zone}, e.g. the total distance per activity type per week across all users. Answered by a scan of the trainings held
+     * in memory, without querying the database.
+     *
+     * @param userId the ID of the user whose trainings are aggregated, omitted for all users.
+     * @param activityTypes the aggregated activity types, omitted for all of them.
+     * @param from the first day of the aggregated trainings' start time, omitted for no lower bound.
+     * @param to the day after the last day of the aggregated trainings' start time, omitted for no upper bound.
+     * @param period the calendar period the trainings are grouped by, omitted not to group them by time.
+     * @param byActivityType whether the trainings are grouped by activity type, {@code true} by default.
+     * @return the aggregates of every group with any matching training.
+     */
+    @GetMapping
+    public TrainingAnalyticsDto aggregateTrainings(
+            @RequestParam(required = false) @Nullable Long userId,
+            @RequestParam(name = "activityType", required = false) @Nullable List<ActivityType> activityTypes,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @Nullable TimeBucket period,
+            @RequestParam(defaultValue = "true") boolean byActivityType) {
+        return trainingAnalytics.aggregate(new TrainingAnalyticsQuery(
+                userId,
+                from == null ? Long.MIN_VALUE : epochMillis(from),
+                to == null ? Long.MAX_VALUE : epochMillis(to),
+                TrainingAnalyticsQuery.activityTypeMask(activityTypes == null ? List.of() : activityTypes),
+                period,
+                byActivityType));
+    }
+
+    /**
+     * Reloads the trainings held in memory from the database, e.g. after trainings were written to it directly.
+     *
+     * @return a ResponseEntity containing a message with the number of loaded trainings.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<String> reload() {
+        int trainings = trainingAnalytics.reload();
+        return ResponseEntity.ok("Analytics reloaded with " + trainings + " trainings");
+    }
+
+    private long epochMillis(LocalDate day) {
+        return day.atStartOfDay(calendarProperties.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of an aggregation over trainings.
+ *
+ * @param scannedTrainings the number of trainings scanned.
+ * @param matchedTrainings the number of trainings matching the filters.
+ * @param groups the aggregates of every group with any matching training, ordered by period and activity type.
+ */
+record TrainingAnalyticsDto(long scannedTrainings, long matchedTrainings, List<Group> groups) {
+
+    /**
+     * Aggregates of the trainings of a single group.
+     *
+     * @param period the first day of the period of the group, or {@code null} if not grouped by time.
+     * @param activityType the activity type of the group, or {@code null} if not grouped by activity type.
+     * @param trainings the number of trainings.
+     * @param totalDistance the total distance of the trainings.
+     * @param totalDurationSeconds the total duration of the trainings in seconds.
+     * @param averageSpeed the mean of the average speeds of the trainings.
+     * @param maxSpeed the highest average speed of the trainings.
+     */
+    record Group(
+            @Nullable LocalDate period,
+            @Nullable ActivityType activityType,
+            long trainings,
+            double totalDistance,
+            long totalDurationSeconds,
+            double averageSpeed,
+            double maxSpeed
+    ) {}
+}
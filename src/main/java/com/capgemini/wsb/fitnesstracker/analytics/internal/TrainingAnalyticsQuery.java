@@ -0,0 +1,48 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+
+/**
+ * Filters and grouping of an aggregation over {@link TrainingColumns}.
+ *
+ * @param userId the ID of the user whose trainings are aggregated, or {@code null} for all users.
+ * @param fromMillis the inclusive lower bound of the start time, in milliseconds since the epoch.
+ * @param toMillis the exclusive upper bound of the start time, in milliseconds since the epoch.
+ * @param activityTypes the bit mask of the ordinals of the aggregated activity types.
+ * @param bucket the period the trainings are grouped by, or {@code null} not to group them by time.
+ * @param byActivityType whether the trainings are grouped by activity type.
+ */
+record TrainingAnalyticsQuery(
+        @Nullable Long userId,
+        long fromMillis,
+        long toMillis,
+        int activityTypes,
+        @Nullable TimeBucket bucket,
+        boolean byActivityType
+) {
+
+    /**
+     * Bit mask of all activity types.
+     */
+    static final int ALL_ACTIVITY_TYPES = (1 << ActivityType.values().length) - 1;
+
+    /**
+     * Returns the bit mask of the given activity types.
+     *
+     * @param activityTypes the activity types, all of them if empty.
+     * @return the bit mask of the ordinals of the activity types.
+     */
+    static int activityTypeMask(Collection<ActivityType> activityTypes) {
+        if (activityTypes.isEmpty()) {
+            return ALL_ACTIVITY_TYPES;
+        }
+        int mask = 0;
+        for (ActivityType activityType : activityTypes) {
+            mask |= 1 << activityType.ordinal();
+        }
+        return mask;
+    }
+}
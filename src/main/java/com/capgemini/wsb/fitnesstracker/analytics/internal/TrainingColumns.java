@@ -0,0 +1,270 @@
+package com.capgemini.wsb.fitnesstracker.analytics.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of trainings in a columnar layout: every attribute is held in its own primitive array, indexed
+ * by the row of the training, with rows ordered by training ID.
+ *
+ * <p>An aggregation is a single pass over the arrays accumulating into primitive arrays of cells, one cell per group,
+ * so its cost does not depend on anything but the number of rows, and it creates no object per row. Trainings are
+ * upserted by ID: new trainings normally get the highest ID and are appended, while updated trainings are found by
+ * a binary search and overwritten in place.</p>
+ *
+ * <p>Trainings are grouped into {@link TimeBucket time buckets} by their start time in the calendar zone, which is
+ * held in its own column as well, so grouping does not look up the offset of the zone per row.</p>
+ *
+ * <p>Aggregations run concurrently with each other, while upserts wait for them to finish.</p>
+ */
+class TrainingColumns {
+
+    /**
+     * Maximum number of groups of a single aggregation.
+     */
+    static final int MAX_GROUPS = 1_000_000;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final ActivityType[] ACTIVITY_TYPES = ActivityType.values();
+
+    /**
+     * Upper bound of the change of the offset of a zone, e.g. by daylight saving time, widening the buckets allocated
+     * for a time range so a training whose local start time moved back across a bucket boundary still fits in them.
+     */
+    private static final long MAX_OFFSET_CHANGE_MILLIS = 2 * 3_600_000L;
+
+    private final ZoneRules zoneRules;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] localStartTimes = new long[INITIAL_CAPACITY];
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    private double[] distances = new double[INITIAL_CAPACITY];
+    private double[] speeds = new double[INITIAL_CAPACITY];
+    private byte[] activityTypes = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Bounds of the start times of all trainings ever held since the last {@link #replaceAll(Stream)}, limiting
+     * the groups allocated by time-bucketed aggregations.
+     */
+    private long minStartTime = Long.MAX_VALUE;
+    private long maxStartTime = Long.MIN_VALUE;
+
+    /**
+     * Creates empty columns.
+     *
+     * @param zone the time zone trainings are grouped into time buckets in.
+     */
+    TrainingColumns(ZoneId zone) {
+        this.zoneRules = zone.getRules();
+    }
+
+    /**
+     * Returns the number of trainings held.
+     *
+     * @return the number of rows.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the trainings, overwriting those with the same ID that are already held.
+     *
+     * @param trainings the current state of the trainings.
+     */
+    void upsertAll(Collection<TrainingSnapshot> trainings) {
+        lock.writeLock().lock();
+        try {
+            trainings.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all trainings held with the given ones. Aggregations and upserts wait until all trainings are read.
+     *
+     * @param trainings the trainings, preferably ordered by ID.
+     * @return the number of trainings held.
+     */
+    int replaceAll(Stream<TrainingSnapshot> trainings) {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            minStartTime = Long.MAX_VALUE;
+            maxStartTime = Long.MIN_VALUE;
+            trainings.forEach(this::put);
+            return size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates the trainings matching the query per group.
+     *
+     * @param query the filters and grouping of the aggregation.
+     * @return the aggregates of every group with any matching training.
+     * @throws BusinessException if the query would produce more than {@value #MAX_GROUPS} groups.
+     */
+    TrainingAnalyticsDto aggregate(TrainingAnalyticsQuery query) {
+        lock.readLock().lock();
+        try {
+            return scan(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TrainingAnalyticsDto scan(TrainingAnalyticsQuery query) {
+        TimeBucket bucket = query.bucket();
+        int typeGroups = query.byActivityType() ? ACTIVITY_TYPES.length : 1;
+        long firstBucket = 0;
+        long buckets = 1;
+        if (bucket != null) {
+            long from = Math.max(query.fromMillis(), minStartTime);
+            long to = Math.min(query.toMillis() - 1, maxStartTime);
+            if (from > to) {
+                return new TrainingAnalyticsDto(size, 0, List.of());
+            }
+            long margin = zoneRules.isFixedOffset() ? 0 : MAX_OFFSET_CHANGE_MILLIS;
+            firstBucket = bucket.of(localTime(from) - margin);
+            buckets = bucket.of(localTime(to) + margin) - firstBucket + 1;
+        }
+        if (buckets * typeGroups > MAX_GROUPS) {
+            throw new BusinessException("Query would produce more than " + MAX_GROUPS + " groups, narrow the time range or use a coarser period");
+        }
+
+        int groups = (int) buckets * typeGroups;
+        long[] counts = new long[groups];
+        long[] durations = new long[groups];
+        double[] totalDistances = new double[groups];
+        double[] speedSums = new double[groups];
+        double[] maxSpeeds = new double[groups];
+        Arrays.fill(maxSpeeds, Double.NEGATIVE_INFINITY);
+
+        boolean anyUser = query.userId() == null;
+        long userId = anyUser ? 0 : query.userId();
+        long fromMillis = query.fromMillis();
+        long toMillis = query.toMillis();
+        int typeMask = query.activityTypes();
+        boolean byActivityType = query.byActivityType();
+        long matched = 0;
+        for (int row = 0; row < size; row++) {
+            // The most selective filter first, so the other columns of filtered out rows are not read at all
+            if (!anyUser && userIds[row] != userId) {
+                continue;
+            }
+            long startTime = startTimes[row];
+            int activityType = activityTypes[row];
+            if (startTime < fromMillis || startTime >= toMillis || (typeMask & (1 << activityType)) == 0) {
+                continue;
+            }
+            int group = bucket == null ? 0 : (int) (bucket.of(localStartTimes[row]) - firstBucket) * typeGroups;
+            if (byActivityType) {
+                group += activityType;
+            }
+            double speed = speeds[row];
+            counts[group]++;
+            durations[group] += Math.max(0, endTimes[row] - startTime);
+            totalDistances[group] += distances[row];
+            speedSums[group] += speed;
+            if (speed > maxSpeeds[group]) {
+                maxSpeeds[group] = speed;
+            }
+            matched++;
+        }
+
+        List<TrainingAnalyticsDto.Group> result = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (counts[group] == 0) {
+                continue;
+            }
+            result.add(new TrainingAnalyticsDto.Group(
+                    bucket == null ? null : bucket.firstDay(firstBucket + group / typeGroups),
+                    byActivityType ? ACTIVITY_TYPES[group % typeGroups] : null,
+                    counts[group],
+                    totalDistances[group],
+                    durations[group] / 1000,
+                    speedSums[group] / counts[group],
+                    maxSpeeds[group]));
+        }
+        return new TrainingAnalyticsDto(size, matched, result);
+    }
+
+    private void put(TrainingSnapshot training) {
+        long id = training.trainingId();
+        int row = size == 0 || id > ids[size - 1] ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            insertRow(row);
+        }
+        long startTime = training.startTime().getTime();
+        minStartTime = Math.min(minStartTime, startTime);
+        maxStartTime = Math.max(maxStartTime, startTime);
+        ids[row] = id;
+        userIds[row] = training.userId();
+        startTimes[row] = startTime;
+        localStartTimes[row] = localTime(startTime);
+        endTimes[row] = training.endTime().getTime();
+        distances[row] = training.distance();
+        speeds[row] = training.averageSpeed();
+        activityTypes[row] = (byte) training.activityType().ordinal();
+    }
+
+    private void insertRow(int row) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            localStartTimes = Arrays.copyOf(localStartTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            speeds = Arrays.copyOf(speeds, capacity);
+            activityTypes = Arrays.copyOf(activityTypes, capacity);
+        }
+        if (row < size) {
+            // A training committed after one with a higher ID, shifts the following rows
+            int moved = size - row;
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(userIds, row, userIds, row + 1, moved);
+            System.arraycopy(startTimes, row, startTimes, row + 1, moved);
+            System.arraycopy(localStartTimes, row, localStartTimes, row + 1, moved);
+            System.arraycopy(endTimes, row, endTimes, row + 1, moved);
+            System.arraycopy(distances, row, distances, row + 1, moved);
+            System.arraycopy(speeds, row, speeds, row + 1, moved);
+            System.arraycopy(activityTypes, row, activityTypes, row + 1, moved);
+        }
+        size++;
+    }
+
+    /**
+     * Shifts an instant by the offset of the zone at that instant, so the UTC calendar fields of the result are
+     * the local calendar fields of the instant.
+     */
+    private long localTime(long epochMillis) {
+        return epochMillis + zoneRules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+    }
+}
@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.calendar.api;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.ZoneId;
+
+/**
+ * Configuration of the calendar trainings are assigned to days, weeks, months and years in.
+ *
+ * <p>The daily rollups, training summaries, leaderboards, achievements, monthly reports and analytics all take
+ * the calendar days of trainings in the same {@link #getZone() zone}, so they agree on the day of every training.</p>
+ */
+@ConfigurationProperties(prefix = "calendar")
+@Getter
+public class CalendarProperties {
+
+    /**
+     * Time zone the calendar days of trainings are taken in.
+     */
+    private final ZoneId zone;
+
+    public CalendarProperties(@DefaultValue("UTC") ZoneId zone) {
+        this.zone = zone;
+    }
+
+}
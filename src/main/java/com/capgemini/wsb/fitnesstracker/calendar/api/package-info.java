@@ -0,0 +1,4 @@
+@NonNullByDefault
+package com.capgemini.wsb.fitnesstracker.calendar.api;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
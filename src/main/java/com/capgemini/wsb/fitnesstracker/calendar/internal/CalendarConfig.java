@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.calendar.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CalendarProperties.class)
+class CalendarConfig {
+}
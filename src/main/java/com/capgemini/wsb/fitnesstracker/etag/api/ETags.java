@@ -0,0 +1,81 @@
+package com.capgemini.wsb.fitnesstracker.etag.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags of resources and conditional GET support.
+ *
+ * <p>The tag of a resource is built from cheap version information, e.g. the version column of an entity,
+ * so a request whose {@code If-None-Match} header still matches is answered with 304 Not Modified
+ * after a single lookup of the versions, without reading the resource or serializing it.</p>
+ *
+ * <p>The {@code If-None-Match} header is compared here against the tag computed by the controller, rather than by
+ * {@link WebRequest#checkNotModified(String)}, which would write its own {@code ETag} header next to the one
+ * of the returned response.</p>
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds a strong entity tag from the given parts.
+     *
+     * @param parts the version information of the resource, e.g. a version number.
+     * @return the quoted entity tag.
+     */
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Answers a conditional GET with 304 Not Modified, carrying the current tag, if the resource is unchanged.
+     * The current tag is only looked up when the request carries an {@code If-None-Match} header, and is compared
+     * to the requested tags by the weak comparison, as required for {@code If-None-Match}.
+     *
+     * @param request the current request.
+     * @param currentTag supplier of the current tag of the resource, empty if the resource does not exist.
+     * @param <T> the type of the body of the full response.
+     * @return the 304 response, or empty if the resource has to be returned in full.
+     */
+    public static <T> Optional<ResponseEntity<T>> notModified(WebRequest request, Supplier<Optional<String>> currentTag) {
+        List<String> requestedTags = requestedTags(request);
+        if (requestedTags.isEmpty()) {
+            return Optional.empty();
+        }
+        return currentTag.get()
+                .filter(tag -> requestedTags.contains("*") || requestedTags.contains(opaqueTag(tag)))
+                .map(tag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build());
+    }
+
+    private static List<String> requestedTags(WebRequest request) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return List.of();
+        }
+        return Arrays.stream(headers)
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::strip)
+                .filter(tag -> !tag.isEmpty())
+                .map(ETags::opaqueTag)
+                .toList();
+    }
+
+    /**
+     * Strips the weak indicator of a tag, as the weak comparison ignores it.
+     */
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
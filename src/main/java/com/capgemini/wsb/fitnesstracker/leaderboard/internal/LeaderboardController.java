@@ -0,0 +1,67 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/leaderboards")
+@RequiredArgsConstructor
+class LeaderboardController {
+
+    private final Leaderboards leaderboards;
+    private final CalendarProperties calendarProperties;
+
+    /**
+     * Retrieves the best users of a leaderboard, read from memory without querying the database.
+     *
+     * @param activityType the activity type of the leaderboard.
+     * @param period the period of the leaderboard, the week by default.
+     * @param day any day of the period, today by default.
+     * @param metric the score users are ranked by, the total distance by default.
+     * @param limit the maximum number of returned users, at most {@value Leaderboards#MAX_LIMIT}.
+     * @return the best users of the leaderboard.
+     */
+    @GetMapping("/{activityType}")
+    public LeaderboardDto getLeaderboard(
+            @PathVariable ActivityType activityType,
+            @RequestParam(defaultValue = "WEEK") LeaderboardPeriod period,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(defaultValue = "DISTANCE") LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return leaderboards.top(activityType, period, day != null ? day : LocalDate.now(calendarProperties.getZone()), metric, limit);
+    }
+
+    /**
+     * Retrieves the rank and score of a user in a leaderboard, read from memory without querying the database.
+     *
+     * @param activityType the activity type of the leaderboard.
+     * @param userId the ID of the user.
+     * @param period the period of the leaderboard, the week by default.
+     * @param day any day of the period, today by default.
+     * @param metric the score users are ranked by, the total distance by default.
+     * @return a ResponseEntity containing the entry of the user, or 404 Not Found if the user has no training
+     *         in the leaderboard.
+     */
+    @GetMapping("/{activityType}/users/{userId}")
+    public ResponseEntity<LeaderboardDto.Entry> getUserEntry(
+            @PathVariable ActivityType activityType,
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "WEEK") LeaderboardPeriod period,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(defaultValue = "DISTANCE") LeaderboardMetric metric) {
+        return leaderboards.entryOf(activityType, period, day != null ? day : LocalDate.now(calendarProperties.getZone()), metric, userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
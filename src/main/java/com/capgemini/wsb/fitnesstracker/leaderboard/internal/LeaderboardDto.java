@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The best users of a leaderboard.
+ *
+ * @param activityType the activity type of the leaderboard.
+ * @param metric the score users are ranked by.
+ * @param from the first day of the period of the leaderboard.
+ * @param to the last day of the period of the leaderboard.
+ * @param rankedUsers the number of users ranked in the leaderboard.
+ * @param entries the best entries, from the best one.
+ */
+record LeaderboardDto(
+        ActivityType activityType,
+        LeaderboardMetric metric,
+        LocalDate from,
+        LocalDate to,
+        int rankedUsers,
+        List<Entry> entries
+) {
+
+    /**
+     * The position of a user in a leaderboard.
+     *
+     * @param rank the rank of the user, starting at 1.
+     * @param userId the ID of the user.
+     * @param score the score of the user.
+     */
+    record Entry(int rank, long userId, double score) {}
+}
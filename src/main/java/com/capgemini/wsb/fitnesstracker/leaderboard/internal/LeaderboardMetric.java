@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+/**
+ * Score users are ranked by in a leaderboard.
+ */
+public enum LeaderboardMetric {
+
+    /**
+     * The total distance of the trainings in the period.
+     */
+    DISTANCE,
+
+    /**
+     * The best average speed of a single training in the period.
+     */
+    SPEED
+}
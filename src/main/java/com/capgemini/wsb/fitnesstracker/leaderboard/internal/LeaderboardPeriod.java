@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar period of a leaderboard, containing a given day.
+ */
+public enum LeaderboardPeriod {
+
+    /**
+     * The week from Monday to Sunday.
+     */
+    WEEK {
+        @Override
+        LocalDate firstDay(LocalDate day) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        LocalDate lastDay(LocalDate firstDay) {
+            return firstDay.plusDays(6);
+        }
+    },
+
+    /**
+     * The calendar month.
+     */
+    MONTH {
+        @Override
+        LocalDate firstDay(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+
+        @Override
+        LocalDate lastDay(LocalDate firstDay) {
+            return firstDay.withDayOfMonth(firstDay.lengthOfMonth());
+        }
+    };
+
+    abstract LocalDate firstDay(LocalDate day);
+
+    abstract LocalDate lastDay(LocalDate firstDay);
+}
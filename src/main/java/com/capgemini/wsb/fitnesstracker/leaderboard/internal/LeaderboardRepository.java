@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.DailyTrainingRollup;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the scores of leaderboards from the {@link DailyTrainingRollup daily training rollups}, at most one row
+ * per user and day, without reading any training.
+ */
+interface LeaderboardRepository extends Repository<DailyTrainingRollup, Long> {
+
+    /**
+     * Computes the scores of all users with any training of the activity type in the given days.
+     *
+     * @param activityType the activity type.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @return the scores of the users.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.leaderboard.internal.UserScores(
+                r.user.id, sum(r.totalDistance), max(r.maxSpeed))
+            FROM DailyTrainingRollup r
+            WHERE r.activityType = :activityType AND r.day BETWEEN :from AND :to
+            GROUP BY r.user.id""")
+    List<UserScores> findScores(
+            @Param("activityType") ActivityType activityType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Computes the scores of the given users in the given days; users without any training of the activity type
+     * in the period are left out.
+     *
+     * @param activityType the activity type.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @param userIds the IDs of the users.
+     * @return the scores of the users.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.leaderboard.internal.UserScores(
+                r.user.id, sum(r.totalDistance), max(r.maxSpeed))
+            FROM DailyTrainingRollup r
+            WHERE r.activityType = :activityType AND r.day BETWEEN :from AND :to AND r.user.id IN :userIds
+            GROUP BY r.user.id""")
+    List<UserScores> findScoresOfUsers(
+            @Param("activityType") ActivityType activityType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("userIds") Collection<Long> userIds);
+}
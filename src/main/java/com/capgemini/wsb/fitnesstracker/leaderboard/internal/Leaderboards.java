@@ -0,0 +1,218 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Top-K leaderboards of users per activity type and week or month, by total distance and best average speed.
+ *
+ * <p>Each leaderboard keeps the users {@link RankedScores ranked} in memory, so the best users and the rank of any
+ * user are read without querying the database. A leaderboard is loaded from the daily training rollups with a single
+ * grouped query when first read, and the leaderboards of the current week and month are loaded once the application
+ * is ready. Once a transaction creating or updating trainings commits, the scores of the affected users are re-read
+ * from the rollups and moved in place in the loaded leaderboards. At most {@value #MAX_LOADED_LEADERBOARDS}
+ * leaderboards are kept loaded, the least recently used ones are dropped.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class Leaderboards {
+
+    /**
+     * Maximum number of entries of a leaderboard returned at once.
+     */
+    static final int MAX_LIMIT = 100;
+
+    private static final int MAX_LOADED_LEADERBOARDS = 256;
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final CalendarProperties calendarProperties;
+    private final Cache<LeaderboardKey, Leaderboard> leaderboards = Caffeine.newBuilder()
+            .maximumSize(MAX_LOADED_LEADERBOARDS)
+            .build();
+
+    /**
+     * Returns the best users of a leaderboard.
+     *
+     * @param activityType the activity type of the leaderboard.
+     * @param period the period of the leaderboard.
+     * @param day any day of the period.
+     * @param metric the score users are ranked by.
+     * @param limit the maximum number of returned users, at most {@value #MAX_LIMIT}.
+     * @return the best users of the leaderboard.
+     * @throws BusinessException if the limit is not between 1 and {@value #MAX_LIMIT}.
+     */
+    public LeaderboardDto top(ActivityType activityType, LeaderboardPeriod period, LocalDate day, LeaderboardMetric metric, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_LIMIT + ", but got " + limit);
+        }
+        LeaderboardKey key = LeaderboardKey.of(activityType, period, day);
+        RankedScores scores = loaded(key).scores(metric);
+        return new LeaderboardDto(activityType, metric, key.firstDay(), key.lastDay(), scores.size(), scores.top(limit));
+    }
+
+    /**
+     * Returns the position of a user in a leaderboard.
+     *
+     * @param activityType the activity type of the leaderboard.
+     * @param period the period of the leaderboard.
+     * @param day any day of the period.
+     * @param metric the score users are ranked by.
+     * @param userId the ID of the user.
+     * @return the entry of the user, or empty if the user has no training in the leaderboard.
+     */
+    public Optional<LeaderboardDto.Entry> entryOf(ActivityType activityType, LeaderboardPeriod period, LocalDate day, LeaderboardMetric metric, long userId) {
+        return Optional.ofNullable(loaded(LeaderboardKey.of(activityType, period, day)).scores(metric).entryOf(userId));
+    }
+
+    /**
+     * Loads the leaderboards of the current week and month of all activity types.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCurrentLeaderboards() {
+        LocalDate today = LocalDate.now(calendarProperties.getZone());
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            for (ActivityType activityType : ActivityType.values()) {
+                loaded(LeaderboardKey.of(activityType, period, today));
+            }
+        }
+        log.info("Loaded {} leaderboards", leaderboards.estimatedSize());
+    }
+
+    /**
+     * Moves the users whose trainings were changed in the loaded leaderboards, once the transaction changing
+     * the trainings commits.
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @TransactionalEventListener
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        Map<LeaderboardKey, Set<Long>> affectedUsers = new HashMap<>();
+        event.changes().stream()
+                .flatMap(change -> Stream.of(change.previous(), change.current()))
+                .filter(training -> training != null)
+                .forEach(training -> {
+                    for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                        affectedUsers.computeIfAbsent(LeaderboardKey.of(training, period, calendarProperties.getZone()), key -> new HashSet<>())
+                                .add(training.userId());
+                    }
+                });
+
+        affectedUsers.forEach((key, userIds) -> {
+            Leaderboard leaderboard = leaderboards.getIfPresent(key);
+            if (leaderboard != null) {
+                leaderboard.refresh(userIds);
+            }
+        });
+    }
+
+    private Leaderboard loaded(LeaderboardKey key) {
+        Leaderboard leaderboard = leaderboards.get(key, Leaderboard::new);
+        leaderboard.loadIfNeeded();
+        return leaderboard;
+    }
+
+    private record LeaderboardKey(ActivityType activityType, LocalDate firstDay, LocalDate lastDay) {
+
+        static LeaderboardKey of(ActivityType activityType, LeaderboardPeriod period, LocalDate day) {
+            LocalDate firstDay = period.firstDay(day);
+            return new LeaderboardKey(activityType, firstDay, period.lastDay(firstDay));
+        }
+
+        static LeaderboardKey of(TrainingSnapshot training, LeaderboardPeriod period, ZoneId zone) {
+            // The days of the daily rollups, in the calendar zone
+            LocalDate day = training.startTime().toInstant().atZone(zone).toLocalDate();
+            return of(training.activityType(), period, day);
+        }
+    }
+
+    /**
+     * The rankings of a single activity type and period, one for each {@link LeaderboardMetric}.
+     *
+     * <p>The lock serializes loading with refreshing, so a refresh started while the leaderboard is being loaded
+     * waits for the load and then re-reads its users, and a refresh of a leaderboard that is not loaded yet is
+     * skipped, as the load reads the committed scores anyway.</p>
+     */
+    private class Leaderboard {
+
+        private final LeaderboardKey key;
+        private final Map<LeaderboardMetric, RankedScores> rankings = new EnumMap<>(LeaderboardMetric.class);
+        private final Lock lock = new ReentrantLock();
+        private volatile boolean loaded;
+
+        Leaderboard(LeaderboardKey key) {
+            this.key = key;
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                rankings.put(metric, new RankedScores());
+            }
+        }
+
+        RankedScores scores(LeaderboardMetric metric) {
+            return rankings.get(metric);
+        }
+
+        void loadIfNeeded() {
+            if (loaded) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (loaded) {
+                    return;
+                }
+                Map<Long, UserScores> scores = leaderboardRepository.findScores(key.activityType(), key.firstDay(), key.lastDay())
+                        .stream()
+                        .collect(Collectors.toMap(UserScores::userId, Function.identity()));
+                rankings.forEach((metric, ranking) -> ranking.replaceAll(scores.values().stream()
+                        .collect(Collectors.toMap(UserScores::userId, userScores -> userScores.of(metric)))));
+                loaded = true;
+                log.debug("Loaded leaderboard {} of {} users", key, scores.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void refresh(Set<Long> userIds) {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    return;
+                }
+                Map<Long, UserScores> scores = leaderboardRepository.findScoresOfUsers(key.activityType(), key.firstDay(), key.lastDay(), userIds)
+                        .stream()
+                        .collect(Collectors.toMap(UserScores::userId, Function.identity()));
+                for (Long userId : userIds) {
+                    UserScores userScores = scores.get(userId);
+                    rankings.forEach((metric, ranking) -> ranking.put(userId, userScores == null ? null : userScores.of(metric)));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scores of users kept sorted from the best to the worst, ties broken by the lower user ID.
+ *
+ * <p>The ranking is held in two parallel primitive arrays, so the rank of a user is a binary search and the top
+ * entries are a prefix of the arrays. Changing a score shifts only the entries between its old and new position with
+ * {@link System#arraycopy}. Reads run concurrently with each other, while changes wait for them to finish.</p>
+ */
+class RankedScores {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Double> scoresByUser = new HashMap<>();
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Replaces all scores, sorting them at once.
+     *
+     * @param scoresByUser the scores by the IDs of the users.
+     */
+    void replaceAll(Map<Long, Double> scoresByUser) {
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(scoresByUser.entrySet());
+        sorted.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        lock.writeLock().lock();
+        try {
+            this.scoresByUser.clear();
+            this.scoresByUser.putAll(scoresByUser);
+            userIds = new long[Math.max(INITIAL_CAPACITY, sorted.size())];
+            scores = new double[userIds.length];
+            for (int row = 0; row < sorted.size(); row++) {
+                userIds[row] = sorted.get(row).getKey();
+                scores[row] = sorted.get(row).getValue();
+            }
+            size = sorted.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the score of a user, or removes the user from the ranking.
+     *
+     * @param userId the ID of the user.
+     * @param score the new score of the user, or {@code null} to remove the user.
+     */
+    void put(long userId, @Nullable Double score) {
+        lock.writeLock().lock();
+        try {
+            Double previous = score == null ? scoresByUser.remove(userId) : scoresByUser.put(userId, score);
+            if (previous == null && score == null) {
+                return;
+            }
+            if (previous == null) {
+                insert(userId, score);
+            } else if (score == null) {
+                int row = find(userId, previous);
+                System.arraycopy(userIds, row + 1, userIds, row, size - row - 1);
+                System.arraycopy(scores, row + 1, scores, row, size - row - 1);
+                size--;
+            } else {
+                move(userId, previous, score);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best entries.
+     *
+     * @param limit the maximum number of entries.
+     * @return the best entries, from the best one.
+     */
+    List<LeaderboardDto.Entry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardDto.Entry> entries = new ArrayList<>(Math.min(limit, size));
+            for (int row = 0; row < Math.min(limit, size); row++) {
+                entries.add(new LeaderboardDto.Entry(row + 1, userIds[row], scores[row]));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entry of a user.
+     *
+     * @param userId the ID of the user.
+     * @return the entry of the user, or {@code null} if the user is not ranked.
+     */
+    @Nullable
+    LeaderboardDto.Entry entryOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Double score = scoresByUser.get(userId);
+            return score == null ? null : new LeaderboardDto.Entry(find(userId, score) + 1, userId, score);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranked users.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long userId, double score) {
+        if (size == userIds.length) {
+            userIds = Arrays.copyOf(userIds, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int row = -find(userId, score) - 1;
+        System.arraycopy(userIds, row, userIds, row + 1, size - row);
+        System.arraycopy(scores, row, scores, row + 1, size - row);
+        userIds[row] = userId;
+        scores[row] = score;
+        size++;
+    }
+
+    /**
+     * Changes the score of a ranked user, shifting only the entries between its old and new row.
+     */
+    private void move(long userId, double previous, double score) {
+        int oldRow = find(userId, previous);
+        int insertionRow = find(userId, score);
+        if (insertionRow >= 0) {
+            return;
+        }
+        insertionRow = -insertionRow - 1;
+        int newRow;
+        if (insertionRow > oldRow) {
+            newRow = insertionRow - 1;
+            System.arraycopy(userIds, oldRow + 1, userIds, oldRow, newRow - oldRow);
+            System.arraycopy(scores, oldRow + 1, scores, oldRow, newRow - oldRow);
+        } else {
+            newRow = insertionRow;
+            System.arraycopy(userIds, newRow, userIds, newRow + 1, oldRow - newRow);
+            System.arraycopy(scores, newRow, scores, newRow + 1, oldRow - newRow);
+        }
+        userIds[newRow] = userId;
+        scores[newRow] = score;
+    }
+
+    /**
+     * Binary search of the entry, ordered by descending score and ascending user ID.
+     *
+     * @return the row of the entry if present, otherwise {@code -(insertion row) - 1}.
+     */
+    private int find(long userId, double score) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Double.compare(score, scores[middle]);
+            if (comparison == 0) {
+                comparison = Long.compare(userIds[middle], userId);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+}
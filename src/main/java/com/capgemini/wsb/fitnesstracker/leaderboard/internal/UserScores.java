@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard.internal;
+
+/**
+ * Scores of a user in a leaderboard, one for each {@link LeaderboardMetric}.
+ *
+ * @param userId the ID of the user.
+ * @param distance the total distance of the trainings of the user.
+ * @param speed the best average speed of a training of the user.
+ */
+record UserScores(Long userId, double distance, double speed) {
+
+    double of(LeaderboardMetric metric) {
+        return switch (metric) {
+            case DISTANCE -> distance;
+            case SPEED -> speed;
+        };
+    }
+}
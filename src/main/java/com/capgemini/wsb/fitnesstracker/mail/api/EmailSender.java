@@ -1,5 +1,9 @@
 package com.capgemini.wsb.fitnesstracker.mail.api;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * API interface for component responsible for sending emails.
  */
@@ -12,4 +16,25 @@ public interface EmailSender {
      */
     void send(EmailDto email);
 
+    /**
+     * Sends the email messages as one batch. A message that cannot be sent does not prevent sending the others.
+     *
+     * <p>The default implementation sends the messages one by one with {@link #send(EmailDto)}; implementations
+     * may send them more efficiently, e.g. over a single connection.</p>
+     *
+     * @param emails information on emails to be sent
+     * @return the failure of each message that could not be sent, by its index in {@code emails}; empty if all were sent
+     */
+    default Map<Integer, Exception> sendAll(List<EmailDto> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            try {
+                send(emails.get(i));
+            } catch (Exception e) {
+                failures.put(i, e);
+            }
+        }
+        return failures;
+    }
+
 }
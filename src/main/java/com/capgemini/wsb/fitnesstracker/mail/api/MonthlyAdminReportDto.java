@@ -16,13 +16,17 @@ public record MonthlyAdminReportDto(
     /**
      * Represents a summary of a single user's training activity.
      *
+     * @param userId the ID of the user.
      * @param userName the full name of the user.
      * @param email the email address of the user.
      * @param trainingCount the number of trainings completed by the user.
+     * @param totalDistance the total distance covered by the user in all trainings.
      */
     public static record UserTrainingSummary(
+            Long userId,
             String userName,
             String email,
-            int trainingCount
+            long trainingCount,
+            double totalDistance
     ) {}
 }
@@ -30,14 +30,14 @@ public class EmailController {
      * @param to      the email address of the recipient.
      * @param subject the subject of the email.
      * @param content the content/body of the email.
-     * @return a {@link ResponseEntity} with an HTTP 200 status and a confirmation message if the email was sent successfully.
+     * @return a {@link ResponseEntity} with an HTTP 200 status and a confirmation message once the email is queued for delivery.
      */
     @PostMapping("/send-test")
     public ResponseEntity<String> sendTestEmail(@RequestParam String to,
                                                 @RequestParam String subject,
                                                 @RequestParam String content) {
         emailService.sendCustomEmail(to, subject, content);
-        return ResponseEntity.ok("Email sent successfully to " + to);
+        return ResponseEntity.ok("Email queued for delivery to " + to);
     }
 
     /**
@@ -50,7 +50,7 @@ public class EmailController {
      * @param month  the month for which the report is generated, in the format "YYYY-MM" (e.g., "2024-10").
      * @return a {@link ResponseEntity}:
      * <ul>
-     *     <li>HTTP 200 (OK) if the report is successfully generated and emailed.</li>
+     *     <li>HTTP 200 (OK) if the report is successfully generated and queued for delivery.</li>
      *     <li>HTTP 400 (Bad Request) if no trainings are found for the given user and month.</li>
      *     <li>HTTP 500 (Internal Server Error) if an unexpected error occurs.</li>
      * </ul>
@@ -67,7 +67,7 @@ public class EmailController {
             }
 
             emailService.sendMonthlyReport(report);
-            return ResponseEntity.ok("Monthly report sent to " + report.userEmail());
+            return ResponseEntity.ok("Monthly report queued for delivery to " + report.userEmail());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to send the report: " + e.getMessage());
@@ -79,7 +79,7 @@ public class EmailController {
      *
      * @param adminEmail the email address of the administrator.
      * @param month      the month for the report (format: "YYYY-MM").
-     * @return a success message if the email is sent.
+     * @return a success message once the email is queued for delivery.
      */
     @PostMapping("/monthly-admin-report")
     public ResponseEntity<String> sendAdminMonthlyReport(@RequestParam String adminEmail, @RequestParam String month) {
@@ -87,7 +87,7 @@ public class EmailController {
             LocalDate reportMonth = LocalDate.parse(month + "-01");
             MonthlyAdminReportDto report = trainingService.generateAdminMonthlyReport(reportMonth);
             emailService.sendAdminMonthlyReport(adminEmail, report);
-            return ResponseEntity.ok("Admin monthly report sent to " + adminEmail);
+            return ResponseEntity.ok("Admin monthly report queued for delivery to " + adminEmail);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to send the admin report: " + e.getMessage());
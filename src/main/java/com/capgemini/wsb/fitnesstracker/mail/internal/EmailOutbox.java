@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Outbox of email messages. Messages are only written to the outbox table, within the caller's transaction if any,
+ * and are delivered asynchronously by the {@link EmailOutboxDispatcher}, so callers never wait for the mail server.
+ */
+@Component
+@RequiredArgsConstructor
+class EmailOutbox {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    /**
+     * Writes an email message to the outbox.
+     *
+     * @param email the email message to be delivered.
+     */
+    @Transactional
+    public void enqueue(EmailDto email) {
+        outboxEmailRepository.save(new OutboxEmail(email, Instant.now()));
+    }
+}
@@ -0,0 +1,200 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Delivers the emails written to the {@link EmailOutbox} using the {@link EmailSender}.
+ *
+ * <p>The outbox is polled periodically. Due emails are claimed one by one (see
+ * {@link OutboxEmailRepository#claim}), so several dispatchers may share the outbox, split evenly between a pool of
+ * {@link EmailOutboxProperties#getWorkers()} workers and handed to {@link EmailSender#sendAll} group by group. A failed attempt is retried with an exponential backoff; after
+ * {@link EmailOutboxProperties#getMaxAttempts()} attempts the email is moved to the dead letters
+ * ({@link OutboxStatus#DEAD}) together with the last error. Delivery is at least once: an email whose attempt
+ * succeeded but could not be marked as sent is delivered again once its lease ends.</p>
+ *
+ * <p>The outbox is polled by a dedicated thread rather than by the shared Spring task scheduler, so a long dispatch
+ * never delays the other scheduled tasks, such as the heartbeats of the notification streams, nor is delayed by
+ * them. The same thread periodically {@link #purge() purges} delivered emails and the oldest dead letters, so the
+ * outbox does not grow with every email ever sent.</p>
+ */
+@Component
+@Slf4j
+class EmailOutboxDispatcher implements DisposableBean {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailSender emailSender;
+    private final EmailOutboxProperties properties;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService poller;
+
+    EmailOutboxDispatcher(
+            OutboxEmailRepository outboxEmailRepository,
+            EmailSender emailSender,
+            EmailOutboxProperties properties) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailSender = emailSender;
+        this.properties = properties;
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), new CustomizableThreadFactory("email-outbox-"));
+        this.poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-outbox-poller-"));
+    }
+
+    /**
+     * Starts polling the outbox once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long pollIntervalMillis = properties.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        long purgeIntervalMillis = properties.getPurgeInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::purgePeriodically, purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // A failure escaping the task would cancel all its further runs
+            log.error("Dispatching the email outbox failed", e);
+        }
+    }
+
+    private void purgePeriodically() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.error("Purging the email outbox failed", e);
+        }
+    }
+
+    /**
+     * Deletes the emails delivered more than {@link EmailOutboxProperties#getRetention()} ago, and the oldest dead
+     * letters beyond {@link EmailOutboxProperties#getMaxDeadLetters()}, in chunks of
+     * {@link EmailOutboxProperties#getBatchSize()} emails, each deleted by a single statement.
+     * Run every {@link EmailOutboxProperties#getPurgeInterval()}.
+     *
+     * @return the number of deleted emails.
+     */
+    long purge() {
+        Instant sentBefore = Instant.now().minus(properties.getRetention());
+        long deleted = deleteInChunks(Long.MAX_VALUE, limit -> outboxEmailRepository.findSentIdsBefore(sentBefore, limit));
+        long excessDeadLetters = outboxEmailRepository.countByStatus(OutboxStatus.DEAD) - properties.getMaxDeadLetters();
+        if (excessDeadLetters > 0) {
+            deleted += deleteInChunks(excessDeadLetters, outboxEmailRepository::findOldestDeadIds);
+        }
+        if (deleted > 0) {
+            log.info("Purged {} emails from the outbox", deleted);
+        }
+        return deleted;
+    }
+
+    private long deleteInChunks(long maxDeleted, Function<Limit, List<Long>> findIds) {
+        long deleted = 0;
+        while (deleted < maxDeleted) {
+            List<Long> ids = findIds.apply(Limit.of((int) Math.min(properties.getBatchSize(), maxDeleted - deleted)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += outboxEmailRepository.deleteByIds(ids);
+        }
+        return deleted;
+    }
+
+    /**
+     * Delivers all due emails, batch by batch, until the outbox holds no more of them.
+     * Run every {@link EmailOutboxProperties#getPollInterval()}.
+     */
+    void dispatch() {
+        while (dispatchBatch() == properties.getBatchSize()) {
+            log.debug("Outbox batch full, dispatching the next one right away");
+        }
+    }
+
+    private int dispatchBatch() {
+        Instant now = Instant.now();
+        Instant leaseEnd = now.plus(properties.getLease());
+        List<Long> dueIds = outboxEmailRepository.findDueIds(now, Limit.of(properties.getBatchSize()));
+
+        List<Long> claimedIds = dueIds.stream()
+                .filter(id -> outboxEmailRepository.claim(id, now, leaseEnd) == 1)
+                .toList();
+        List<OutboxEmail> claimed = outboxEmailRepository.findAllById(claimedIds);
+        int groupSize = Math.max(1, (claimed.size() + properties.getWorkers() - 1) / properties.getWorkers());
+        CompletableFuture<?>[] deliveries = IntStream.iterate(0, from -> from < claimed.size(), from -> from + groupSize)
+                .mapToObj(from -> claimed.subList(from, Math.min(from + groupSize, claimed.size())))
+                .map(group -> CompletableFuture.runAsync(() -> deliver(group), workers))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(deliveries).join();
+        return dueIds.size();
+    }
+
+    private void deliver(List<OutboxEmail> emails) {
+        Map<Integer, Exception> failures;
+        try {
+            failures = emailSender.sendAll(emails.stream().map(OutboxEmail::toEmailDto).toList());
+        } catch (Exception e) {
+            failures = IntStream.range(0, emails.size()).boxed().collect(Collectors.toMap(i -> i, i -> e));
+        }
+
+        List<Long> sentIds = new ArrayList<>(emails.size());
+        for (int i = 0; i < emails.size(); i++) {
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                sentIds.add(emails.get(i).getId());
+            } else {
+                handleFailure(emails.get(i), failure);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxEmailRepository.markSent(sentIds, Instant.now());
+        }
+    }
+
+    private void handleFailure(OutboxEmail email, Exception e) {
+        String error = describe(e);
+        if (email.getAttempts() >= properties.getMaxAttempts()) {
+            log.error("Giving up delivering email {} to {} after {} attempts: {}", email.getId(), email.getToAddress(), email.getAttempts(), error);
+            outboxEmailRepository.markDead(email.getId(), error);
+        } else {
+            Duration backoff = backoff(email.getAttempts());
+            log.warn("Delivering email {} to {} failed (attempt {}), retrying in {}: {}", email.getId(), email.getToAddress(), email.getAttempts(), backoff, error);
+            outboxEmailRepository.reschedule(email.getId(), Instant.now().plus(backoff), error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String describe(Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return error.length() > OutboxEmail.MAX_ERROR_LENGTH ? error.substring(0, OutboxEmail.MAX_ERROR_LENGTH) : error;
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdown();
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,89 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the delivery of the email outbox by the {@link EmailOutboxDispatcher}.
+ */
+@ConfigurationProperties(prefix = "mail.outbox")
+@Getter
+class EmailOutboxProperties {
+
+    /**
+     * Delay between the end of one poll of the outbox and the start of the next one.
+     */
+    private final Duration pollInterval;
+
+    /**
+     * Number of delivery workers, i.e. the maximum number of emails delivered concurrently.
+     */
+    private final int workers;
+
+    /**
+     * Maximum number of due emails claimed by a single poll of the outbox.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of delivery attempts after which an email is moved to the dead letters.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Delay before the second attempt, doubled for every further attempt.
+     */
+    private final Duration initialBackoff;
+
+    /**
+     * Upper bound of the delay between two attempts.
+     */
+    private final Duration maxBackoff;
+
+    /**
+     * Time after which an attempt that never completed (e.g. as the application stopped) is retried.
+     */
+    private final Duration lease;
+
+    /**
+     * Time delivered emails are kept in the outbox for, after which they are purged.
+     */
+    private final Duration retention;
+
+    /**
+     * Maximum number of dead letters kept in the outbox; the oldest ones beyond it are purged.
+     */
+    private final int maxDeadLetters;
+
+    /**
+     * Delay between the end of one purge of the outbox and the start of the next one.
+     */
+    private final Duration purgeInterval;
+
+    EmailOutboxProperties(
+            @DefaultValue("1s") Duration pollInterval,
+            @DefaultValue("4") int workers,
+            @DefaultValue("100") int batchSize,
+            @DefaultValue("8") int maxAttempts,
+            @DefaultValue("30s") Duration initialBackoff,
+            @DefaultValue("1h") Duration maxBackoff,
+            @DefaultValue("5m") Duration lease,
+            @DefaultValue("7d") Duration retention,
+            @DefaultValue("10000") int maxDeadLetters,
+            @DefaultValue("1h") Duration purgeInterval) {
+        this.pollInterval = pollInterval;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        this.maxDeadLetters = maxDeadLetters;
+        this.purgeInterval = purgeInterval;
+    }
+
+}
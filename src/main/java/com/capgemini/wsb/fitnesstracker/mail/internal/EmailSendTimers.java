@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of sending single emails, recorded in the {@value #SEND_METER} meter tagged with the {@code sender}
+ * implementation and the {@code outcome} ({@code success} or {@code failure}), so failures are counted as well.
+ */
+final class EmailSendTimers {
+
+    /**
+     * Name of the timer of sent emails.
+     */
+    static final String SEND_METER = "fitnesstracker.mail.send";
+
+    private final Timer succeeded;
+    private final Timer failed;
+
+    EmailSendTimers(MeterRegistry meterRegistry, String sender) {
+        this.succeeded = timer(meterRegistry, sender, "success");
+        this.failed = timer(meterRegistry, sender, "failure");
+    }
+
+    /**
+     * Records the sending of a single email.
+     *
+     * @param startNanos the {@link System#nanoTime()} when the sending started.
+     * @param success whether the email was sent.
+     */
+    void record(long startNanos, boolean success) {
+        (success ? succeeded : failed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String sender, String outcome) {
+        return Timer.builder(SEND_METER)
+                .description("Latency of sending a single email")
+                .tag("sender", sender)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
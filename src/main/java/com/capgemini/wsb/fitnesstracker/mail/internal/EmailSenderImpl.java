@@ -2,7 +2,8 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -12,14 +13,23 @@ import org.springframework.stereotype.Service;
  *
  * <p>This class uses the {@link JavaMailSender} provided by Spring to send emails.
  * The configuration for the sender (e.g., host, port, and authentication) is handled
- * via the Spring Mail properties, and the "from" email address is retrieved from the {@link MailProperties}.</p>
+ * via the {@link MailProperties}, which also provide the "from" email address.
+ * Every message is sent in its own SMTP session; see {@link PooledEmailSender} for reusing the connections.
+ * The latency and outcome of every message are recorded by {@link EmailSendTimers}.</p>
  */
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "mail.sender", name = "mode", havingValue = "simple", matchIfMissing = true)
 public class EmailSenderImpl implements EmailSender {
 
     private final JavaMailSender mailSender;
     private final MailProperties mailProperties;
+    private final EmailSendTimers sendTimers;
+
+    EmailSenderImpl(JavaMailSender mailSender, MailProperties mailProperties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.mailProperties = mailProperties;
+        this.sendTimers = new EmailSendTimers(meterRegistry, "simple");
+    }
 
     /**
      * Sends an email using the provided {@link EmailDto}.
@@ -29,6 +39,7 @@ public class EmailSenderImpl implements EmailSender {
      * from the {@link MailProperties}.</p>
      *
      * @param email an {@link EmailDto} containing the recipient's address, subject, and content of the email.
+     * @throws org.springframework.mail.MailException if the email could not be sent.
      */
     @Override
     public void send(EmailDto email) {
@@ -38,6 +49,13 @@ public class EmailSenderImpl implements EmailSender {
         message.setSubject(email.subject());
         message.setText(email.content());
 
-        mailSender.send(message);
+        long startNanos = System.nanoTime();
+        try {
+            mailSender.send(message);
+        } catch (RuntimeException e) {
+            sendTimers.record(startNanos, false);
+            throw e;
+        }
+        sendTimers.record(startNanos, true);
     }
 }
@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link com.capgemini.wsb.fitnesstracker.mail.api.EmailSender} implementation.
+ */
+@ConfigurationProperties(prefix = "mail.sender")
+@Getter
+class EmailSenderProperties {
+
+    /**
+     * How the messages are sent to the SMTP server.
+     */
+    private final Mode mode;
+
+    /**
+     * Maximum number of SMTP connections kept open by the {@link Mode#POOLED} sender.
+     */
+    private final int connections;
+
+    /**
+     * Number of messages of a batch sent over one connection before it is handed to the next batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of messages after which a connection is closed and replaced, as SMTP servers commonly limit
+     * the number of messages per session.
+     */
+    private final int maxMessagesPerConnection;
+
+    EmailSenderProperties(
+            @DefaultValue("simple") Mode mode,
+            @DefaultValue("4") int connections,
+            @DefaultValue("20") int batchSize,
+            @DefaultValue("100") int maxMessagesPerConnection) {
+        this.mode = mode;
+        this.connections = connections;
+        this.batchSize = batchSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+
+    enum Mode {
+
+        /**
+         * Every message is sent in its own SMTP session by {@link EmailSenderImpl}.
+         */
+        SIMPLE,
+
+        /**
+         * Messages are sent in batches over reused SMTP connections by {@link PooledEmailSender}.
+         */
+        POOLED
+    }
+
+}
@@ -1,7 +1,6 @@
 package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
-import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyTrainingReportDto;
 import lombok.RequiredArgsConstructor;
@@ -9,18 +8,21 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service for handling email operations, including sending custom emails and monthly training reports.
+ *
+ * <p>Emails are written to the {@link EmailOutbox} and delivered asynchronously, so the methods of this service
+ * return without waiting for the mail server.</p>
  */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final EmailSender emailSender;
+    private final EmailOutbox emailOutbox;
 
     /**
      * Sends a custom email message.
      *
      * <p>This method allows sending an email with arbitrary content, subject, and recipient address. It constructs
-     * an {@link EmailDto} object and uses the {@link EmailSender} implementation to send the email.</p>
+     * an {@link EmailDto} object and writes it to the {@link EmailOutbox}.</p>
      *
      * @param to      the recipient's email address.
      * @param subject the subject of the email.
@@ -28,7 +30,7 @@ public class EmailService {
      */
     public void sendCustomEmail(String to, String subject, String content) {
         EmailDto email = new EmailDto(to, subject, content);
-        emailSender.send(email);
+        emailOutbox.enqueue(email);
     }
 
     /**
@@ -46,7 +48,7 @@ public class EmailService {
         String content = formatTrainingReport(report);
 
         EmailDto email = new EmailDto(report.userEmail(), "Monthly Training Summary", content);
-        emailSender.send(email);
+        emailOutbox.enqueue(email);
     }
 
     /**
@@ -58,7 +60,7 @@ public class EmailService {
      * @param report the monthly training report DTO containing user and training details.
      * @return the formatted email content as a {@link String}.
      */
-    private String formatTrainingReport(MonthlyTrainingReportDto report) {
+    String formatTrainingReport(MonthlyTrainingReportDto report) {
         StringBuilder content = new StringBuilder();
         content.append("Dear ").append(report.userName()).append(",\n\n");
         content.append("Your training summary for the month:\n\n");
@@ -83,7 +85,7 @@ public class EmailService {
     public void sendAdminMonthlyReport(String adminEmail, MonthlyAdminReportDto report) {
         String content = formatAdminReport(report);
         EmailDto email = new EmailDto(adminEmail, "Monthly Training Summary (Admin)", content);
-        emailSender.send(email);
+        emailOutbox.enqueue(email);
     }
 
     /**
@@ -92,7 +94,7 @@ public class EmailService {
      * @param report the admin training summary report.
      * @return the formatted email content.
      */
-    private String formatAdminReport(MonthlyAdminReportDto report) {
+    String formatAdminReport(MonthlyAdminReportDto report) {
         StringBuilder content = new StringBuilder();
         content.append("Dear Administrator,\n\n");
         content.append("Here is the training summary for ").append(report.month()).append(":\n\n");
@@ -100,7 +102,8 @@ public class EmailService {
         report.users().forEach(user -> {
             content.append("User: ").append(user.userName()).append("\n");
             content.append("Email: ").append(user.email()).append("\n");
-            content.append("Trainings Completed: ").append(user.trainingCount()).append("\n\n");
+            content.append("Trainings Completed: ").append(user.trainingCount()).append("\n");
+            content.append("Total Distance: ").append(user.totalDistance()).append(" km\n\n");
         });
 
         content.append("Best regards,\nYour Fitness Tracker Team");
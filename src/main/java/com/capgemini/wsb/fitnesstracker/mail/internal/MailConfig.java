@@ -3,23 +3,34 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.util.Properties;
 
 @Configuration
-@EnableConfigurationProperties(MailProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({MailProperties.class, EmailSenderProperties.class, MonthlyReportProperties.class, EmailOutboxProperties.class})
 class MailConfig {
+
+    /**
+     * Timeout (in milliseconds) of connecting to, reading from and writing to the SMTP server,
+     * so a single unresponsive server call cannot block a sending thread indefinitely.
+     */
+    private static final int SMTP_TIMEOUT_MILLIS = 10_000;
+
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender(MailProperties mailProperties) {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost("smtp.freesmtpservers.com");
-        mailSender.setPort(25);
+        mailSender.setHost(mailProperties.getHost());
+        mailSender.setPort(mailProperties.getPort());
 
         Properties props = mailSender.getJavaMailProperties();
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "false");
         props.put("mail.smtp.starttls.enable", "false");
+        props.put("mail.smtp.connectiontimeout", SMTP_TIMEOUT_MILLIS);
+        props.put("mail.smtp.timeout", SMTP_TIMEOUT_MILLIS);
+        props.put("mail.smtp.writetimeout", SMTP_TIMEOUT_MILLIS);
         props.put("mail.debug", "true");
 
         return mailSender;
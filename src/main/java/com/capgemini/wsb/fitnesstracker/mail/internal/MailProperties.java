@@ -1,22 +1,42 @@
 package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import jakarta.annotation.Nullable;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.mail.javamail.JavaMailSender;
 
 /**
- * Configuration of the {@link EmailSender} (additional to the Spring mail configuration for {@link JavaMailSender} bean autoconfiguration).
+ * Configuration of the {@link EmailSender} and of the SMTP server used by the {@link JavaMailSender}.
  */
 @ConfigurationProperties(prefix = "mail")
 @Getter
-@RequiredArgsConstructor
 class MailProperties {
 
     /**
      * Email address that the email should be sent from.
      */
+    @Nullable
     private final String from;
 
+    /**
+     * Host name of the SMTP server.
+     */
+    private final String host;
+
+    /**
+     * Port of the SMTP server.
+     */
+    private final int port;
+
+    MailProperties(
+            @Nullable String from,
+            @DefaultValue("smtp.freesmtpservers.com") String host,
+            @DefaultValue("25") int port) {
+        this.from = from;
+        this.host = host;
+        this.port = port;
+    }
+
 }
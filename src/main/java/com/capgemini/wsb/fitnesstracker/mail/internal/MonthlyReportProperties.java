@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the monthly user reports job run by the {@link TrainingReportScheduler}.
+ */
+@ConfigurationProperties(prefix = "mail.monthly-report")
+@Getter
+class MonthlyReportProperties {
+
+    /**
+     * Maximum number of users whose reports are generated and sent concurrently.
+     */
+    private final int parallelism;
+
+    MonthlyReportProperties(@DefaultValue("8") int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Finds IDs of pending emails due for a delivery attempt, the longest waiting first.
+     *
+     * @param now the current time.
+     * @param limit the maximum number of IDs to return.
+     * @return the IDs of the due emails.
+     */
+    @Query("""
+            SELECT o.id FROM OutboxEmail o
+            WHERE o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.PENDING AND o.nextAttemptAt <= :now
+            ORDER BY o.nextAttemptAt, o.id""")
+    List<Long> findDueIds(@Param("now") Instant now, Limit limit);
+
+    /**
+     * Claims a due email for a delivery attempt by counting the attempt and postponing the next one until the lease
+     * ends, so no other worker picks it up meanwhile. If the attempt is never completed (e.g. the application stops),
+     * the email becomes due again once the lease ends.
+     *
+     * @param id the ID of the email.
+     * @param now the current time.
+     * @param leaseEnd the end of the lease of the attempt.
+     * @return {@code 1} if the email was claimed, {@code 0} if it is not due (anymore).
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE OutboxEmail o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :leaseEnd
+            WHERE o.id = :id
+              AND o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.PENDING
+              AND o.nextAttemptAt <= :now""")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("leaseEnd") Instant leaseEnd);
+
+    /**
+     * Marks emails as delivered.
+     *
+     * @param ids the IDs of the emails.
+     * @param sentAt the time of the delivery.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE OutboxEmail o SET o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.SENT,
+                o.sentAt = :sentAt, o.lastError = null
+            WHERE o.id IN :ids""")
+    void markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+    /**
+     * Schedules the next delivery attempt of an email after a failed one.
+     *
+     * @param id the ID of the email.
+     * @param nextAttemptAt the time of the next attempt.
+     * @param error the error of the failed attempt.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEmail o SET o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    void reschedule(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    /**
+     * Moves an email to the dead letters after its last failed delivery attempt.
+     *
+     * @param id the ID of the email.
+     * @param error the error of the last failed attempt.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE OutboxEmail o SET o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.DEAD,
+                o.lastError = :error
+            WHERE o.id = :id""")
+    void markDead(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * Finds IDs of emails delivered before the given time, the oldest first.
+     *
+     * @param sentBefore the exclusive upper bound of the time of the delivery.
+     * @param limit the maximum number of IDs to return.
+     * @return the IDs of the emails.
+     */
+    @Query("""
+            SELECT o.id FROM OutboxEmail o
+            WHERE o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.SENT AND o.sentAt < :sentBefore
+            ORDER BY o.id""")
+    List<Long> findSentIdsBefore(@Param("sentBefore") Instant sentBefore, Limit limit);
+
+    /**
+     * Finds IDs of the dead letters, the oldest first.
+     *
+     * @param limit the maximum number of IDs to return.
+     * @return the IDs of the emails.
+     */
+    @Query("""
+            SELECT o.id FROM OutboxEmail o
+            WHERE o.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus.DEAD
+            ORDER BY o.id""")
+    List<Long> findOldestDeadIds(Limit limit);
+
+    /**
+     * Deletes emails with a single statement, without loading them.
+     *
+     * @param ids the IDs of the emails.
+     * @return the number of deleted emails.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEmail o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Counts the emails with the given status.
+     *
+     * @param status the status of the emails.
+     * @return the number of emails with the status.
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+/**
+ * Delivery status of an {@link OutboxEmail}.
+ */
+public enum OutboxStatus {
+
+    /**
+     * Waiting for its (next) delivery attempt.
+     */
+    PENDING,
+
+    /**
+     * Delivered to the mail server.
+     */
+    SENT,
+
+    /**
+     * Given up after the maximum number of failed delivery attempts.
+     */
+    DEAD
+}
@@ -0,0 +1,229 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Implementation of the {@link EmailSender} interface sending email messages over a pool of reused SMTP connections.
+ *
+ * <p>Unlike {@link EmailSenderImpl}, which opens and closes an SMTP session for every message, this sender keeps up to
+ * {@link EmailSenderProperties#getConnections()} connections open and shares them between the sending threads.
+ * A batch passed to {@link #sendAll(List)} is split into groups of {@link EmailSenderProperties#getBatchSize()}
+ * messages, each sent over a single connection. A connection is replaced after
+ * {@link EmailSenderProperties#getMaxMessagesPerConnection()} messages or once it breaks. The latency and outcome of
+ * every message are recorded by {@link EmailSendTimers}.</p>
+ *
+ * <p>A message failing for any reason fails alone, while the rest of the batch is still sent. If a connection cannot
+ * be opened, however, all the remaining messages fail at once, without trying to connect for each of them.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "mail.sender", name = "mode", havingValue = "pooled")
+@Slf4j
+class PooledEmailSender implements EmailSender, DisposableBean {
+
+    /**
+     * Name of the counter of SMTP connections opened by the sender.
+     */
+    static final String CONNECTIONS_OPENED_METER = "fitnesstracker.mail.connections.opened";
+
+    private final JavaMailSenderImpl mailSender;
+    private final MailProperties mailProperties;
+    private final EmailSenderProperties properties;
+    private final BlockingQueue<SmtpConnection> idleConnections;
+    private final Counter connectionsOpened;
+    private final EmailSendTimers sendTimers;
+
+    PooledEmailSender(
+            JavaMailSenderImpl mailSender,
+            MailProperties mailProperties,
+            EmailSenderProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.mailProperties = mailProperties;
+        this.properties = properties;
+        this.idleConnections = new ArrayBlockingQueue<>(properties.getConnections());
+        for (int i = 0; i < properties.getConnections(); i++) {
+            idleConnections.add(new SmtpConnection());
+        }
+        this.connectionsOpened = Counter.builder(CONNECTIONS_OPENED_METER)
+                .description("SMTP connections opened by the pooled email sender")
+                .register(meterRegistry);
+        this.sendTimers = new EmailSendTimers(meterRegistry, "pooled");
+    }
+
+    /**
+     * Sends an email over one of the pooled connections.
+     *
+     * @param email an {@link EmailDto} containing the recipient's address, subject, and content of the email.
+     * @throws MailException if the email could not be sent.
+     */
+    @Override
+    public void send(EmailDto email) {
+        Map<Integer, Exception> failures = sendAll(List.of(email));
+        if (!failures.isEmpty()) {
+            throw (MailException) failures.get(0);
+        }
+    }
+
+    /**
+     * Sends the emails in groups of {@link EmailSenderProperties#getBatchSize()}, each over a single pooled connection.
+     * Waits for a connection when all of them are in use by other threads.
+     *
+     * @param emails information on emails to be sent
+     * @return the {@link MailException} of each message that could not be sent, by its index in {@code emails};
+     *         the messages left unsent once connecting to the server failed share the same exception
+     */
+    @Override
+    public Map<Integer, Exception> sendAll(List<EmailDto> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int from = 0; from < emails.size(); from += properties.getBatchSize()) {
+            int to = Math.min(from + properties.getBatchSize(), emails.size());
+            SmtpConnection connection = borrowConnection();
+            try {
+                connection.validate();
+                for (int i = from; i < to; i++) {
+                    EmailDto email = emails.get(i);
+                    long startNanos = System.nanoTime();
+                    try {
+                        connection.connect();
+                    } catch (MessagingException e) {
+                        sendTimers.record(startNanos, false);
+                        MailSendException failure = new MailSendException("Failed to connect to the SMTP server", e);
+                        for (int unsent = i; unsent < emails.size(); unsent++) {
+                            failures.put(unsent, failure);
+                        }
+                        return failures;
+                    }
+                    try {
+                        connection.send(toMimeMessage(email));
+                        sendTimers.record(startNanos, true);
+                    } catch (MessagingException | RuntimeException e) {
+                        sendTimers.record(startNanos, false);
+                        failures.put(i, new MailSendException("Failed to send email to " + email.toAddress(), e));
+                    }
+                }
+            } finally {
+                idleConnections.add(connection);
+            }
+        }
+        return failures;
+    }
+
+    private SmtpConnection borrowConnection() {
+        try {
+            return idleConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailDto email) throws MessagingException {
+        MimeMessage message = new MimeMessage(mailSender.getSession());
+        MimeMessageHelper helper = new MimeMessageHelper(message);
+        if (mailProperties.getFrom() != null) {
+            helper.setFrom(mailProperties.getFrom());
+        }
+        helper.setTo(email.toAddress());
+        helper.setSubject(email.subject());
+        helper.setText(email.content());
+        message.saveChanges();
+        return message;
+    }
+
+    @Override
+    public void destroy() {
+        idleConnections.forEach(SmtpConnection::close);
+    }
+
+    /**
+     * A lazily opened SMTP connection, used by a single thread at a time.
+     */
+    private final class SmtpConnection {
+
+        @Nullable
+        private Transport transport;
+
+        private int sentMessages;
+
+        /**
+         * Closes the connection if the server dropped it while idle, so it is reopened by the next message.
+         */
+        void validate() {
+            if (transport != null && !transport.isConnected()) {
+                close();
+            }
+        }
+
+        /**
+         * Opens the connection if it is not open yet, or reopens it once it sent its maximum number of messages.
+         */
+        void connect() throws MessagingException {
+            if (transport == null || sentMessages >= properties.getMaxMessagesPerConnection()) {
+                reconnect();
+            }
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            if (transport == null) {
+                throw new MessagingException("SMTP connection is not open");
+            }
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+                sentMessages++;
+            } catch (SendFailedException e) {
+                // Rejected recipients leave the session usable
+                throw e;
+            } catch (MessagingException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void reconnect() throws MessagingException {
+            close();
+            Session session = mailSender.getSession();
+            Transport newTransport = mailSender.getProtocol() != null
+                    ? session.getTransport(mailSender.getProtocol())
+                    : session.getTransport();
+            newTransport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            connectionsOpened.increment();
+            transport = newTransport;
+            sentMessages = 0;
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection", e);
+            }
+            transport = null;
+        }
+    }
+}
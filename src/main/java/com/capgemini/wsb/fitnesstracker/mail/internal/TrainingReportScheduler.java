@@ -1,16 +1,25 @@
 package com.capgemini.wsb.fitnesstracker.mail.internal;
 
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyTrainingReportDto;
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
-import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduler for generating and sending monthly training reports.
@@ -20,54 +29,182 @@ import java.util.List;
  */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class TrainingReportScheduler {
 
+    static final String REPORTS_METER = "fitnesstracker.reports.monthly";
+
+    /**
+     * Name of the timer of the runs of the monthly report jobs.
+     */
+    static final String RUNS_METER = "fitnesstracker.reports.monthly.runs";
+
+    /**
+     * Number of users submitted to the pool per thread ahead of their processing, keeping the threads busy while
+     * bounding the queued tasks.
+     */
+    private static final int QUEUED_USERS_PER_THREAD = 2;
+
     private final UserRepository userRepository;
     private final TrainingServiceImpl trainingService;
     private final EmailService emailService;
+    private final MonthlyReportProperties monthlyReportProperties;
+    private final CalendarProperties calendarProperties;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Generates and sends monthly training reports.
      *
-     * <p>This method runs on the 1st day of each month at 8:00 AM (server time) and performs the following steps:</p>
+     * <p>This method runs on the 1st day of each month at 8:00 AM in the {@link CalendarProperties#getZone() calendar
+     * zone} and sends the reports for the previous month, see {@link #sendMonthlyReports(LocalDate)}.</p>
+     *
+     * <p>The scheduling is configured via the {@code @Scheduled} annotation with a CRON expression.</p>
+     */
+    @Scheduled(cron = "0 0 8 1 * *", zone = "${calendar.zone:UTC}")
+    public void generateAndSendMonthlyReports() {
+        sendMonthlyReports(LocalDate.now(calendarProperties.getZone()).minusMonths(1));
+    }
+
+    /**
+     * Generates and sends the training reports of all users for the given month.
+     *
+     * <p>The method performs the following steps:</p>
      * <ul>
-     *     <li>Retrieves the list of all users from the {@link UserRepository}.</li>
-     *     <li>For each user, generates a training report for the previous month using the {@link TrainingServiceImpl}.</li>
-     *     <li>If the report contains trainings, sends the report to the user's email via the {@link EmailService}.</li>
+     *     <li>Retrieves the IDs of all users from the {@link UserRepository}.</li>
+     *     <li>For each user, generates a training report for the month using the {@link TrainingServiceImpl}.</li>
+     *     <li>If the report contains trainings, queues the report for the user's email via the {@link EmailService}.</li>
      * </ul>
      *
-     * <p>The scheduling is configured via the {@code @Scheduled} annotation with a CRON expression.</p>
+     * <p>Users are processed concurrently by a bounded pool of {@link MonthlyReportProperties#getParallelism()} threads,
+     * so a slow user holds only one of them. At most {@value #QUEUED_USERS_PER_THREAD} users per thread are submitted
+     * ahead, so the queue of the pool does not grow with the number of users. A failure for one user is logged and counted, and does not affect
+     * the others. The outcome of every user is counted by the {@value #REPORTS_METER} meter, tagged with
+     * {@code outcome} ({@code sent}, {@code skipped} or {@code failed}), and the duration of the run by the
+     * {@value #RUNS_METER} meter, tagged with {@code report} {@code users}.</p>
      *
+     * @param month the month for which the reports are generated.
+     * @return the summary of the run.
      * @see UserRepository
      * @see TrainingServiceImpl
      * @see EmailService
      */
-    @Scheduled(cron = "0 0 8 1 * *")
-    public void generateAndSendMonthlyReports() {
-        LocalDate previousMonth = LocalDate.now().minusMonths(1);
+    public MonthlyReportRunSummary sendMonthlyReports(LocalDate month) {
+        long startNanos = System.nanoTime();
+        List<Long> userIds = userRepository.findAllIds();
+        log.info("Sending monthly reports for {} to {} users", month, userIds.size());
+
+        RunCounters counters = new RunCounters(meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(
+                monthlyReportProperties.getParallelism(),
+                new CustomizableThreadFactory("monthly-report-"));
+        int maxSubmitted = monthlyReportProperties.getParallelism() * QUEUED_USERS_PER_THREAD;
+        Semaphore submitted = new Semaphore(maxSubmitted);
+        try {
+            for (Long userId : userIds) {
+                submitted.acquire();
+                executor.execute(() -> {
+                    try {
+                        sendMonthlyReport(userId, month, counters);
+                    } finally {
+                        submitted.release();
+                    }
+                });
+            }
+            // Waits for the last users
+            submitted.acquire(maxSubmitted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while sending monthly reports for {}", month);
+        } finally {
+            executor.shutdown();
+        }
 
-        List<User> users = userRepository.findAll();
+        MonthlyReportRunSummary summary = new MonthlyReportRunSummary(
+                userIds.size(),
+                counters.sent.get(),
+                counters.skipped.get(),
+                counters.failed.get(),
+                Duration.ofNanos(System.nanoTime() - startNanos));
+        meterRegistry.timer(RUNS_METER, "report", "users").record(summary.duration());
+        log.info("Finished sending monthly reports for {}: {}", month, summary);
+        return summary;
+    }
 
-        for (User user : users) {
-            MonthlyTrainingReportDto report = trainingService.generateMonthlyReport(user.getId(), previousMonth);
+    private void sendMonthlyReport(Long userId, LocalDate month, RunCounters counters) {
+        try {
+            MonthlyTrainingReportDto report = trainingService.generateMonthlyReport(userId, month);
 
-            if (!report.trainings().isEmpty()) {
-                emailService.sendMonthlyReport(report);
+            if (report.trainings().isEmpty()) {
+                counters.skipped();
+                return;
             }
+            emailService.sendMonthlyReport(report);
+            counters.sent();
+        } catch (Exception e) {
+            log.warn("Failed to send monthly report for {} to user with ID {}", month, userId, e);
+            counters.failed();
         }
     }
 
     /**
      * Generates and sends a monthly admin summary report.
-     * Scheduled to run on the 1st day of every month at 8:00 AM.
+     * Scheduled to run on the 1st day of every month at 8:00 AM in the calendar zone. The duration of the run is recorded by the
+     * {@value #RUNS_METER} meter, tagged with {@code report} {@code admin}.
      */
-    @Scheduled(cron = "0 0 8 1 * *")
+    @Scheduled(cron = "0 0 8 1 * *", zone = "${calendar.zone:UTC}")
     public void generateAndSendMonthlyAdminReport() {
-        LocalDate previousMonth = LocalDate.now().minusMonths(1);
+        meterRegistry.timer(RUNS_METER, "report", "admin").record(() -> {
+            LocalDate previousMonth = LocalDate.now(calendarProperties.getZone()).minusMonths(1);
+
+            String adminEmail = "admin@example.com";
+
+            MonthlyAdminReportDto report = trainingService.generateAdminMonthlyReport(previousMonth);
+            emailService.sendAdminMonthlyReport(adminEmail, report);
+        });
+    }
 
-        String adminEmail = "admin@example.com";
+    /**
+     * Summary of a single run of the monthly user reports job.
+     *
+     * @param users the number of users processed.
+     * @param sent the number of users the report was sent to.
+     * @param skipped the number of users without any training in the month.
+     * @param failed the number of users for whom generating or sending the report failed.
+     * @param duration the duration of the run.
+     */
+    public record MonthlyReportRunSummary(int users, int sent, int skipped, int failed, Duration duration) {}
 
-        MonthlyAdminReportDto report = trainingService.generateAdminMonthlyReport(previousMonth);
-        emailService.sendAdminMonthlyReport(adminEmail, report);
+    /**
+     * Outcome counters of a single run, mirrored to the {@value #REPORTS_METER} meter.
+     */
+    private static final class RunCounters {
+
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Counter sentMeter;
+        private final Counter skippedMeter;
+        private final Counter failedMeter;
+
+        private RunCounters(MeterRegistry meterRegistry) {
+            this.sentMeter = meterRegistry.counter(REPORTS_METER, "outcome", "sent");
+            this.skippedMeter = meterRegistry.counter(REPORTS_METER, "outcome", "skipped");
+            this.failedMeter = meterRegistry.counter(REPORTS_METER, "outcome", "failed");
+        }
+
+        private void sent() {
+            sent.incrementAndGet();
+            sentMeter.increment();
+        }
+
+        private void skipped() {
+            skipped.incrementAndGet();
+            skippedMeter.increment();
+        }
+
+        private void failed() {
+            failed.incrementAndGet();
+            failedMeter.increment();
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller that manages the Server-Sent Events streams of training notifications.
+ */
+@RestController
+@RequestMapping("/v1/notifications")
+@RequiredArgsConstructor
+class NotificationController {
+
+    private final NotificationHub notificationHub;
+
+    /**
+     * Opens a stream pushing an event whenever a matching training is created ({@value TrainingNotification#CREATED})
+     * or updated ({@value TrainingNotification#UPDATED}), replacing polling for changed trainings.
+     * Both filters are optional and combined.
+     *
+     * @param userId the ID of the user whose trainings are pushed, all users by default.
+     * @param activityType the activity type of the pushed trainings, all activity types by default.
+     * @return the emitter of the stream.
+     */
+    @GetMapping(path = "/trainings", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTrainings(
+            @RequestParam(required = false) @Nullable Long userId,
+            @RequestParam(required = false) @Nullable ActivityType activityType) {
+        return notificationHub.subscribe(userId, activityType);
+    }
+}
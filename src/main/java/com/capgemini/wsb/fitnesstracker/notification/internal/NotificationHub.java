@@ -0,0 +1,183 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fans out created and updated trainings to the {@link Subscriber subscribers} of their user or activity type.
+ *
+ * <p>Subscribers are indexed by user, otherwise by activity type, so publishing a training visits only the
+ * subscribers it may match, plus those subscribed to all trainings. Every change is serialized once and buffered
+ * for each matching subscriber once the transaction changing the trainings commits, so rolled back changes are never
+ * pushed. Open streams are servlet async requests and hold no thread while idle; a heartbeat is sent to all of them
+ * every {@link NotificationProperties#getHeartbeatInterval()} to detect closed connections.</p>
+ */
+@Component
+@Slf4j
+class NotificationHub implements SchedulingConfigurer, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties properties;
+    private final ExecutorService senders;
+    private final ExecutorService writers;
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Map<ActivityType, Set<Subscriber>> subscribersByActivityType = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribersOfAll = ConcurrentHashMap.newKeySet();
+
+    NotificationHub(ObjectMapper objectMapper, NotificationProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.senders = Executors.newFixedThreadPool(properties.getSenders(), new CustomizableThreadFactory("notification-sender-"));
+        // A write to a stalled client holds its thread until the connection fails, so the threads are bounded,
+        // and the queue only holds the writes of the senders waiting for a free thread
+        this.writers = new ThreadPoolExecutor(properties.getWriters(), properties.getWriters(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getSenders()), new CustomizableThreadFactory("notification-writer-"));
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedRateTask(this::sendHeartbeats, properties.getHeartbeatInterval());
+    }
+
+    /**
+     * Opens a stream of the trainings matching the filters.
+     *
+     * @param userId the ID of the user of the pushed trainings, or {@code null} for trainings of all users.
+     * @param activityType the activity type of the pushed trainings, or {@code null} for all activity types.
+     * @return the emitter of the stream.
+     */
+    public SseEmitter subscribe(@Nullable Long userId, @Nullable ActivityType activityType) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, userId, activityType, properties.getBufferSize(), senders,
+                writers, properties.getWriteTimeout());
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        if (userId != null) {
+            subscribersByUser.compute(userId, (id, subscribers) -> added(subscribers, subscriber));
+        } else if (activityType != null) {
+            subscribersByActivityType.compute(activityType, (type, subscribers) -> added(subscribers, subscriber));
+        } else {
+            subscribersOfAll.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes the changed trainings to their subscribers once the transaction changing them commits.
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @TransactionalEventListener
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        for (TrainingsChangedEvent.Change change : event.changes()) {
+            Set<Subscriber> recipients = new LinkedHashSet<>();
+            // Subscribers of the previous user or activity type also learn that the training moved away from them
+            Stream.of(change.previous(), change.current())
+                    .filter(training -> training != null)
+                    .forEach(training -> collectRecipients(training, recipients));
+            if (recipients.isEmpty()) {
+                continue;
+            }
+
+            Subscriber.OutboundEvent outbound = new Subscriber.OutboundEvent(
+                    TrainingNotification.nameOf(change),
+                    String.valueOf(change.current().trainingId()),
+                    serialize(TrainingNotification.of(change)));
+            recipients.forEach(subscriber -> offer(subscriber, outbound));
+        }
+    }
+
+    void sendHeartbeats() {
+        allSubscribers().forEach(subscriber -> offer(subscriber, Subscriber.HEARTBEAT));
+    }
+
+    private void collectRecipients(TrainingSnapshot training, Set<Subscriber> recipients) {
+        for (Set<Subscriber> candidates : List.of(
+                subscribersByUser.getOrDefault(training.userId(), Set.of()),
+                subscribersByActivityType.getOrDefault(training.activityType(), Set.of()),
+                subscribersOfAll)) {
+            for (Subscriber subscriber : candidates) {
+                if (subscriber.matches(training)) {
+                    recipients.add(subscriber);
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Subscriber.OutboundEvent event) {
+        if (!subscriber.offer(event)) {
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.close();
+        if (subscriber.userId() != null) {
+            subscribersByUser.computeIfPresent(subscriber.userId(), (userId, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        } else if (subscriber.activityType() != null) {
+            subscribersByActivityType.computeIfPresent(subscriber.activityType(), (activityType, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        } else {
+            subscribersOfAll.remove(subscriber);
+        }
+    }
+
+    private static Set<Subscriber> added(@Nullable Set<Subscriber> subscribers, Subscriber subscriber) {
+        Set<Subscriber> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+        result.add(subscriber);
+        return result;
+    }
+
+    private Stream<Subscriber> allSubscribers() {
+        return Stream.of(List.of(subscribersOfAll), subscribersByUser.values(), subscribersByActivityType.values())
+                .flatMap(Collection::stream)
+                .flatMap(Collection::stream);
+    }
+
+    private String serialize(TrainingNotification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        allSubscribers().forEach(Subscriber::close);
+        senders.shutdown();
+        writers.shutdown();
+    }
+}
@@ -0,0 +1,65 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the streams of training notifications pushed by the {@link NotificationHub}.
+ */
+@ConfigurationProperties(prefix = "notification")
+@Getter
+class NotificationProperties {
+
+    /**
+     * Maximum number of events waiting to be sent to a single subscriber. A subscriber falling further behind
+     * is disconnected.
+     */
+    private final int bufferSize;
+
+    /**
+     * Number of threads draining the buffered events of the subscribers, shared by all of them.
+     */
+    private final int senders;
+
+    /**
+     * Maximum number of threads writing events to the subscribers. A write to a client not reading its events holds
+     * a thread until the connection fails or times out; once all of them are held, subscribers whose events cannot
+     * be written are disconnected.
+     */
+    private final int writers;
+
+    /**
+     * Maximum time a single event may take to be written to a subscriber. A subscriber not reading its events
+     * for longer is disconnected.
+     */
+    private final Duration writeTimeout;
+
+    /**
+     * Interval of the heartbeats sent to all subscribers, detecting closed connections and keeping idle ones open.
+     */
+    private final Duration heartbeatInterval;
+
+    /**
+     * Time after which a stream is closed, letting the client reconnect.
+     */
+    private final Duration timeout;
+
+    NotificationProperties(
+            @DefaultValue("64") int bufferSize,
+            @DefaultValue("2") int senders,
+            @DefaultValue("32") int writers,
+            @DefaultValue("5s") Duration writeTimeout,
+            @DefaultValue("30s") Duration heartbeatInterval,
+            @DefaultValue("30m") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.senders = senders;
+        this.writers = writers;
+        this.writeTimeout = writeTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+    }
+
+}
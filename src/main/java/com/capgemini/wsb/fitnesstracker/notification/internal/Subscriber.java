@@ -0,0 +1,224 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single open stream of training notifications, filtered by user and/or activity type.
+ *
+ * <p>Events are buffered in a bounded queue and drained by a shared sender thread, at most one at a time per
+ * subscriber, so an idle subscriber holds no thread. A subscriber whose buffer is full when an event arrives is
+ * disconnected, so a slow client never grows the memory of the application.</p>
+ *
+ * <p>Writing to the connection blocks until the client reads the data, so every write is handed to a writer thread
+ * and the sender waits for it at most the write timeout. A subscriber whose write times out is disconnected and
+ * the sender moves on to the other subscribers, so a stalled client never holds a sender thread; only its own
+ * writer thread stays blocked until the connection fails or times out. The writes in flight are counted, and
+ * a closed subscriber is completed by whichever finishes last, closing it or its pending write, so a stalled client
+ * holds at most one writer thread and closing it never queues more work. A subscriber whose write is rejected by
+ * the bounded writer pool is disconnected as well.</p>
+ */
+@Slf4j
+class Subscriber {
+
+    /**
+     * Marker of a heartbeat in the buffer, sent as an SSE comment.
+     */
+    static final OutboundEvent HEARTBEAT = new OutboundEvent("", "", "");
+
+    private final SseEmitter emitter;
+    @Nullable
+    private final Long userId;
+    @Nullable
+    private final ActivityType activityType;
+    private final BlockingQueue<OutboundEvent> buffer;
+    private final Executor senders;
+    private final ExecutorService writers;
+    private final Duration writeTimeout;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    Subscriber(
+            SseEmitter emitter,
+            @Nullable Long userId,
+            @Nullable ActivityType activityType,
+            int bufferSize,
+            Executor senders,
+            ExecutorService writers,
+            Duration writeTimeout) {
+        this.emitter = emitter;
+        this.userId = userId;
+        this.activityType = activityType;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.senders = senders;
+        this.writers = writers;
+        this.writeTimeout = writeTimeout;
+    }
+
+    @Nullable
+    Long userId() {
+        return userId;
+    }
+
+    @Nullable
+    ActivityType activityType() {
+        return activityType;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Tells whether the subscriber is interested in the training.
+     *
+     * @param training the training.
+     * @return {@code true} if the training matches both filters of the subscriber.
+     */
+    boolean matches(TrainingSnapshot training) {
+        return (userId == null || userId.equals(training.userId()))
+                && (activityType == null || activityType == training.activityType());
+    }
+
+    /**
+     * Buffers an event and schedules sending it, or disconnects the subscriber if its buffer is full.
+     *
+     * @param event the event.
+     * @return {@code false} if the subscriber is closed, so it can be unsubscribed.
+     */
+    boolean offer(OutboundEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            log.debug("Disconnecting subscriber of user {} and activity {} falling {} events behind", userId, activityType, buffer.size());
+            close();
+            return false;
+        }
+        scheduleSending();
+        return true;
+    }
+
+    /**
+     * Completes the stream. Idempotent.
+     * As completing the emitter waits for a write still in progress, the emitter is completed by the pending write
+     * once it returns, if there is one.
+     */
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            if (writesInFlight.get() == 0) {
+                complete();
+            }
+        }
+    }
+
+    private void complete() {
+        if (completed.compareAndSet(false, true)) {
+            emitter.complete();
+        }
+    }
+
+    private void writeFinished() {
+        if (writesInFlight.decrementAndGet() == 0 && closed.get()) {
+            complete();
+        }
+    }
+
+    private void scheduleSending() {
+        if (sending.compareAndSet(false, true)) {
+            senders.execute(this::send);
+        }
+    }
+
+    private void send() {
+        try {
+            OutboundEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                write(event);
+            }
+        } catch (TimeoutException e) {
+            log.debug("Disconnecting subscriber of user {} and activity {} not reading an event for {}", userId, activityType, writeTimeout);
+            close();
+        } catch (RejectedExecutionException e) {
+            log.debug("Disconnecting subscriber of user {} and activity {}, all notification writers are busy", userId, activityType);
+            close();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing subscriber of user {} and activity {}: {}", userId, activityType, e.getMessage());
+            closed.set(true);
+            buffer.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        } finally {
+            sending.set(false);
+        }
+        // An event buffered after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!buffer.isEmpty() && !closed.get()) {
+            scheduleSending();
+        }
+    }
+
+    private void write(OutboundEvent event) throws IOException, TimeoutException, InterruptedException {
+        SseEmitter.SseEventBuilder builder = event == HEARTBEAT
+                ? SseEmitter.event().comment("heartbeat")
+                : SseEmitter.event().name(event.name()).id(event.id()).data(event.data());
+        writesInFlight.incrementAndGet();
+        Future<?> write;
+        try {
+            write = writers.submit(() -> {
+                try {
+                    // A write queued behind busy writers is skipped once its subscriber timed out waiting for it
+                    if (!closed.get()) {
+                        emitter.send(builder);
+                    }
+                    return null;
+                } finally {
+                    writeFinished();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            writeFinished();
+            throw e;
+        }
+        try {
+            write.get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * An event already serialized once for all its subscribers.
+     *
+     * @param name the name of the event.
+     * @param id the ID of the event.
+     * @param data the JSON data of the event.
+     */
+    record OutboundEvent(String name, String id, String data) {}
+}
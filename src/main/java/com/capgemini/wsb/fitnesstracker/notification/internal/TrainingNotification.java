@@ -0,0 +1,55 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.util.Date;
+
+/**
+ * The data of an event pushed to the subscribers of a created or updated training.
+ *
+ * @param trainingId the ID of the training.
+ * @param userId the ID of the user associated with the training.
+ * @param startTime the start time of the training.
+ * @param endTime the end time of the training.
+ * @param activityType the type of activity performed during the training.
+ * @param distance the distance covered during the training.
+ * @param averageSpeed the average speed of the training.
+ */
+record TrainingNotification(
+        Long trainingId,
+        Long userId,
+        Date startTime,
+        Date endTime,
+        ActivityType activityType,
+        double distance,
+        double averageSpeed
+) {
+
+    /**
+     * Name of the event of a created training.
+     */
+    static final String CREATED = "training-created";
+
+    /**
+     * Name of the event of an updated training.
+     */
+    static final String UPDATED = "training-updated";
+
+    static TrainingNotification of(TrainingsChangedEvent.Change change) {
+        TrainingSnapshot training = change.current();
+        return new TrainingNotification(
+                training.trainingId(),
+                training.userId(),
+                training.startTime(),
+                training.endTime(),
+                training.activityType(),
+                training.distance(),
+                training.averageSpeed());
+    }
+
+    static String nameOf(TrainingsChangedEvent.Change change) {
+        return change.isCreation() ? CREATED : UPDATED;
+    }
+}
@@ -0,0 +1,96 @@
+package com.capgemini.wsb.fitnesstracker.paging.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import jakarta.annotation.Nullable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset (cursor) paginated listing.
+ *
+ * <p>Pages are returned to the clients as a plain JSON array, while the cursor of the next page (if any)
+ * is passed in the {@value #NEXT_CURSOR_HEADER} response header.</p>
+ *
+ * @param items      the items of the page, in listing order.
+ * @param nextCursor the opaque cursor of the next page, or {@code null} if this is the last page.
+ * @param <T>        the type of the page items.
+ */
+public record CursorPage<T>(List<T> items, @Nullable String nextCursor) {
+
+    /**
+     * Name of the response header carrying the cursor of the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Page size used when the client does not request any.
+     */
+    public static final String DEFAULT_SIZE = "50";
+
+    /**
+     * Upper bound of the page size, larger requested sizes are capped to it.
+     */
+    public static final int MAX_SIZE = 500;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}.
+     * The extra row only signals that a next page exists and is not part of the page.
+     *
+     * @param rows     rows fetched from the database, at most {@code size + 1}.
+     * @param size     the requested page size.
+     * @param cursorOf function creating the cursor pointing right after the given row.
+     * @param <T>      the type of the page items.
+     * @return the page.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    /**
+     * Validates the page size requested by the client and caps it to {@link #MAX_SIZE}.
+     *
+     * @param requestedSize the page size requested by the client.
+     * @return the page size to be used.
+     * @throws BusinessException if the requested size is not positive.
+     */
+    public static int boundedSize(int requestedSize) {
+        if (requestedSize < 1) {
+            throw new BusinessException("Page size must be positive, but was " + requestedSize);
+        }
+        return Math.min(requestedSize, MAX_SIZE);
+    }
+
+    /**
+     * Maps the items of the page, keeping the cursor.
+     *
+     * @param mapper the function to apply to each item.
+     * @param <R>    the type of the mapped items.
+     * @return the page with mapped items.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream()
+                .<R>map(mapper)
+                .toList();
+        return new CursorPage<>(mapped, nextCursor);
+    }
+
+    /**
+     * Creates the HTTP 200 (OK) response with the page items as the body and the next page cursor as a header.
+     *
+     * @return the response entity.
+     */
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+}
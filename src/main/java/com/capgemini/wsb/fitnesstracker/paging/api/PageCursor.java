@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.paging.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Encoder and decoder of opaque keyset pagination cursors.
+ *
+ * <p>A cursor carries the sort key values of the last row of a page (e.g. start time and ID of a training).
+ * Keys are serialized as big-endian longs and Base64 (URL-safe) encoded, so clients treat them as opaque tokens.</p>
+ */
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encodes the given sort key values into an opaque cursor.
+     *
+     * @param keys the sort key values of the last row of a page.
+     * @return the opaque cursor.
+     */
+    public static String encode(long... keys) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * keys.length);
+        for (long key : keys) {
+            buffer.putLong(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes an opaque cursor created by {@link #encode(long...)}.
+     *
+     * @param cursor       the opaque cursor received from the client.
+     * @param expectedKeys the number of sort key values the cursor should carry.
+     * @return the decoded sort key values.
+     * @throws BusinessException if the cursor is malformed.
+     */
+    public static long[] decode(String cursor, int expectedKeys) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid page cursor: " + cursor);
+        }
+        if (bytes.length != Long.BYTES * expectedKeys) {
+            throw new BusinessException("Invalid page cursor: " + cursor);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] keys = new long[expectedKeys];
+        for (int i = 0; i < expectedKeys; i++) {
+            keys[i] = buffer.getLong();
+        }
+        return keys;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Job rebuilding the {@link Statistics} of all users from their existing trainings.
+ *
+ * <p>Users are split into chunks of {@value #CHUNK_SIZE}, which are rebuilt concurrently, each chunk in its own
+ * transaction. It is meant for initializing statistics of trainings created before the statistics were maintained,
+ * or for repairing them.</p>
+ *
+ * <p>A chunk locks its users like {@link StatisticsServiceImpl} does before creating the first statistics of a user,
+ * and deletes their statistics before reading the trainings. Transactions adding to the statistics of these users
+ * either commit before the delete, so their trainings are read, or wait for the chunk to commit and add their
+ * trainings to the rebuilt statistics, so no training is lost or counted twice.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class StatisticsBackfill {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final StatisticsRepository statisticsRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Rebuilds the statistics of all users.
+     *
+     * @return the number of users whose statistics were rebuilt.
+     */
+    public int rebuildAll() {
+        List<Long> userIds = userRepository.findAllIds();
+        List<List<Long>> chunks = IntStream.range(0, (userIds.size() + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .mapToObj(chunk -> userIds.subList(chunk * CHUNK_SIZE, Math.min(userIds.size(), (chunk + 1) * CHUNK_SIZE)))
+                .toList();
+        log.info("Rebuilding statistics of {} users in {} chunks", userIds.size(), chunks.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("statistics-backfill-"));
+        try {
+            CompletableFuture<?>[] rebuilds = chunks.stream()
+                    .map(chunk -> CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> rebuild(chunk)), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(rebuilds).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        log.info("Finished rebuilding statistics of {} users", userIds.size());
+        return userIds.size();
+    }
+
+    private void rebuild(List<Long> userIds) {
+        userIds.forEach(userRepository::lockById);
+        statisticsRepository.deleteAllByUserIdIn(userIds);
+
+        Map<Long, StatisticsDelta> totals = new HashMap<>();
+        for (TrainingSnapshot training : statisticsRepository.findTrainingSnapshotsOfUsers(userIds)) {
+            totals.merge(training.userId(), StatisticsDelta.of(training), StatisticsDelta::plus);
+        }
+        statisticsRepository.saveAll(totals.entrySet().stream()
+                .map(total -> new Statistics(
+                        userRepository.getReferenceById(total.getKey()),
+                        total.getValue().trainings(),
+                        total.getValue().distance(),
+                        total.getValue().caloriesBurned()))
+                .toList());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller that manages endpoints for statistics of users.
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+@RequiredArgsConstructor
+class StatisticsController {
+
+    private final StatisticsServiceImpl statisticsService;
+
+    private final StatisticsBackfill statisticsBackfill;
+
+    /**
+     * Retrieves the statistics of a specific user. The statistics are maintained incrementally,
+     * so this is a single lookup regardless of the number of trainings of the user.
+     *
+     * @param userId the ID of the user.
+     * @return a ResponseEntity containing StatisticsDto if the user has any statistics, or 404 Not Found otherwise.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<StatisticsDto> getUserStatistics(@PathVariable Long userId) {
+        return statisticsService.getStatisticsForUser(userId)
+                .map(statistics -> new StatisticsDto(
+                        userId,
+                        statistics.getTotalTrainings(),
+                        statistics.getTotalDistance(),
+                        statistics.getTotalCaloriesBurned()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Rebuilds the statistics of all users from their existing trainings.
+     *
+     * @return a ResponseEntity containing a message with the number of users whose statistics were rebuilt.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuildStatistics() {
+        int users = statisticsBackfill.rebuildAll();
+        return ResponseEntity.ok("Statistics rebuilt for " + users + " users");
+    }
+}
@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A change of the statistics of a single user, caused by one or more trainings.
+ *
+ * @param trainings the change of the number of trainings.
+ * @param distance the change of the total distance.
+ * @param caloriesBurned the change of the total calories burned.
+ */
+record StatisticsDelta(int trainings, double distance, int caloriesBurned) {
+
+    static final StatisticsDelta ZERO = new StatisticsDelta(0, 0, 0);
+
+    /**
+     * Approximate number of calories burned per hour of each activity.
+     */
+    private static final Map<ActivityType, Integer> CALORIES_PER_HOUR = new EnumMap<>(Map.of(
+            ActivityType.RUNNING, 600,
+            ActivityType.CYCLING, 500,
+            ActivityType.WALKING, 250,
+            ActivityType.SWIMMING, 500,
+            ActivityType.TENNIS, 450));
+
+    /**
+     * Creates the delta adding the given training to the statistics.
+     *
+     * @param training the training to be added.
+     * @return the delta of the training.
+     */
+    static StatisticsDelta of(TrainingSnapshot training) {
+        long caloriesPerHour = CALORIES_PER_HOUR.getOrDefault(training.activityType(), 0);
+        int caloriesBurned = (int) (caloriesPerHour * training.duration().toSeconds() / 3600);
+        return new StatisticsDelta(1, training.distance(), caloriesBurned);
+    }
+
+    StatisticsDelta plus(StatisticsDelta other) {
+        return new StatisticsDelta(
+                trainings + other.trainings,
+                distance + other.distance,
+                caloriesBurned + other.caloriesBurned);
+    }
+
+    StatisticsDelta minus(StatisticsDelta other) {
+        return new StatisticsDelta(
+                trainings - other.trainings,
+                distance - other.distance,
+                caloriesBurned - other.caloriesBurned);
+    }
+
+    boolean isZero() {
+        return trainings == 0 && distance == 0 && caloriesBurned == 0;
+    }
+}
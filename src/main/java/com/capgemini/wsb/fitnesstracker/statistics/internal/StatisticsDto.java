@@ -0,0 +1,11 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+/**
+ * A Data Transfer Object representing the statistics of a user.
+ *
+ * @param userId the ID of the user.
+ * @param totalTrainings the number of trainings of the user.
+ * @param totalDistance the total distance covered in all trainings.
+ * @param totalCaloriesBurned the estimated number of calories burned in all trainings.
+ */
+record StatisticsDto(Long userId, int totalTrainings, double totalDistance, int totalCaloriesBurned) {}
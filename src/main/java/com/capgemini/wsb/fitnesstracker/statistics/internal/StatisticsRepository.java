@@ -0,0 +1,80 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * Finds the statistics of a specific user.
+     *
+     * @param userId the ID of the user.
+     * @return the statistics of the user, if present.
+     */
+    @Query("SELECT s FROM Statistics s WHERE s.user.id = :userId")
+    Optional<Statistics> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Adds the given deltas to the statistics of a specific user in place, without reading them first.
+     * Native SQL, as Hibernate renders an invalid H2 cast for a {@code double} parameter in a JPQL arithmetic update.
+     *
+     * @param userId the ID of the user.
+     * @param trainings the delta of the number of trainings.
+     * @param distance the delta of the total distance.
+     * @param caloriesBurned the delta of the total calories burned.
+     * @return the number of updated rows, {@code 0} if the user has no statistics yet.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE statistics
+            SET total_trainings = total_trainings + :trainings,
+                total_distance = total_distance + :distance,
+                total_calories_burned = total_calories_burned + :caloriesBurned
+            WHERE user_id = :userId""", nativeQuery = true)
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("trainings") int trainings,
+            @Param("distance") double distance,
+            @Param("caloriesBurned") int caloriesBurned);
+
+    /**
+     * Deletes the statistics of a specific user if the user has no training left, so the statistics do not
+     * prevent deleting the user.
+     *
+     * @param userId the ID of the user.
+     * @return the number of deleted rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM statistics WHERE user_id = :userId AND total_trainings = 0", nativeQuery = true)
+    int deleteEmpty(@Param("userId") Long userId);
+
+    /**
+     * Deletes the statistics of the given users.
+     *
+     * @param userIds the IDs of the users.
+     */
+    @Modifying
+    @Query("DELETE FROM Statistics s WHERE s.user.id IN :userIds")
+    void deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Finds snapshots of all trainings of the given users, without loading the training entities.
+     *
+     * @param userIds the IDs of the users.
+     * @return snapshots of the trainings of the users.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)
+            FROM Training t
+            WHERE t.user.id IN :userIds""")
+    List<TrainingSnapshot> findTrainingSnapshotsOfUsers(@Param("userIds") Collection<Long> userIds);
+}
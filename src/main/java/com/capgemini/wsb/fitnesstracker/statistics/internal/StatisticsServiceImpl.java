@@ -0,0 +1,92 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service maintaining per-user {@link Statistics}.
+ *
+ * <p>Statistics are updated incrementally: every {@link TrainingsChangedEvent} is turned into per-user deltas,
+ * which are added to the stored totals in place. Reading the statistics of a user is therefore a single
+ * lookup, without aggregating the trainings table.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class StatisticsServiceImpl implements StatisticsProvider {
+
+    private final StatisticsRepository statisticsRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public Optional<Statistics> getStatistics(final Long statisticsId) {
+        return statisticsRepository.findById(statisticsId);
+    }
+
+    @Override
+    public Optional<Statistics> getStatisticsForUser(final Long userId) {
+        return statisticsRepository.findByUserId(userId);
+    }
+
+    /**
+     * Applies the changes of trainings to the statistics of the affected users.
+     *
+     * <p>The listener runs synchronously within the transaction changing the trainings, so statistics are committed
+     * (or rolled back) together with the trainings. An updated training is subtracted from the statistics of its
+     * previous user and added to the statistics of its current user. The statistics of a user left without any
+     * training are deleted, as they would otherwise keep the user from being deleted.</p>
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @EventListener
+    @Transactional
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        Map<Long, StatisticsDelta> deltas = new LinkedHashMap<>();
+        event.changes().forEach(change -> {
+            if (change.previous() != null) {
+                deltas.merge(change.previous().userId(), StatisticsDelta.ZERO.minus(StatisticsDelta.of(change.previous())), StatisticsDelta::plus);
+            }
+            deltas.merge(change.current().userId(), StatisticsDelta.of(change.current()), StatisticsDelta::plus);
+        });
+
+        deltas.forEach(this::applyDelta);
+    }
+
+    /**
+     * Adds the delta to the statistics of a user, creating them if the user has none yet.
+     * Creating the statistics locks the user first and retries the update, so a transaction creating the first
+     * statistics of the user concurrently makes this one add to them instead of inserting a duplicate.
+     */
+    private void applyDelta(Long userId, StatisticsDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        int updated = statisticsRepository.applyDelta(userId, delta.trainings(), delta.distance(), delta.caloriesBurned());
+        if (updated == 0) {
+            userRepository.lockById(userId);
+            updated = statisticsRepository.applyDelta(userId, delta.trainings(), delta.distance(), delta.caloriesBurned());
+        }
+        if (updated == 0) {
+            log.debug("Creating statistics of user with ID {}", userId);
+            statisticsRepository.save(new Statistics(
+                    userRepository.getReferenceById(userId),
+                    delta.trainings(),
+                    delta.distance(),
+                    delta.caloriesBurned()));
+        } else if (delta.trainings() < 0) {
+            statisticsRepository.deleteEmpty(userId);
+        }
+    }
+
+}
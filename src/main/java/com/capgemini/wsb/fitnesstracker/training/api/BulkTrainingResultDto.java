@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Outcome of creating trainings in bulk.
+ *
+ * @param created the number of created trainings.
+ * @param failed the number of trainings that could not be created.
+ * @param items the outcome of every requested training, in request order.
+ */
+public record BulkTrainingResultDto(int created, int failed, List<Item> items) {
+
+    /**
+     * Outcome of a single requested training.
+     *
+     * @param index the position of the training in the request.
+     * @param trainingId the ID of the created training, or {@code null} if it could not be created.
+     * @param error the reason the training could not be created, or {@code null} if it was created.
+     */
+    public record Item(int index, @Nullable Long trainingId, @Nullable String error) {
+
+        public static Item created(int index, Long trainingId) {
+            return new Item(index, trainingId, null);
+        }
+
+        public static Item failed(int index, String error) {
+            return new Item(index, null, error);
+        }
+    }
+}
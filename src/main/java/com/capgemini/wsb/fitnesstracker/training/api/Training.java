@@ -9,19 +9,42 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.util.Date;
+
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", indexes = {
+        @Index(name = "idx_trainings_user_id_start_time", columnList = "user_id, start_time"),
+        @Index(name = "idx_trainings_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_trainings_end_time", columnList = "end_time"),
+        @Index(name = "idx_trainings_activity_type_start_time_id", columnList = "activity_type, start_time, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class Training {
 
+    /**
+     * Number of IDs reserved by a single call of the {@value #ID_SEQUENCE} sequence, so trainings created
+     * in bulk need few sequence calls and can be inserted in JDBC batches.
+     */
+    private static final int ID_ALLOCATION_SIZE = 100;
+
+    private static final String ID_SEQUENCE = "trainings_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    /**
+     * Version of the training, incremented by every update, so unchanged trainings can be detected without reading them.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User user;
 
     @Column(name = "start_time", nullable = false)
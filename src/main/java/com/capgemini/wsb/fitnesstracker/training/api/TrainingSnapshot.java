@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * An immutable copy of the state of a {@link Training} at a given moment.
+ *
+ * @param trainingId the ID of the training.
+ * @param userId the ID of the user associated with the training.
+ * @param startTime the start time of the training.
+ * @param endTime the end time of the training.
+ * @param activityType the type of activity performed during the training.
+ * @param distance the distance covered during the training.
+ * @param averageSpeed the average speed of the training.
+ */
+public record TrainingSnapshot(
+        Long trainingId,
+        Long userId,
+        Date startTime,
+        Date endTime,
+        ActivityType activityType,
+        double distance,
+        double averageSpeed
+) {
+
+    /**
+     * Takes a snapshot of the current state of the given training.
+     *
+     * @param training the training to take the snapshot of.
+     * @return the snapshot of the training.
+     */
+    public static TrainingSnapshot of(Training training) {
+        return new TrainingSnapshot(
+                training.getId(),
+                training.getUser().getId(),
+                new Date(training.getStartTime().getTime()),
+                new Date(training.getEndTime().getTime()),
+                training.getActivityType(),
+                training.getDistance(),
+                training.getAverageSpeed());
+    }
+
+    /**
+     * Returns the duration of the training, never negative.
+     *
+     * @return the duration between the start and the end time of the training.
+     */
+    public Duration duration() {
+        return Duration.ofMillis(Math.max(0, endTime.getTime() - startTime.getTime()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Summary of the trainings of a user in a period.
+ *
+ * @param userId the ID of the user.
+ * @param from the first day of the period.
+ * @param to the last day of the period.
+ * @param trainings the number of trainings.
+ * @param totalDistance the total distance of the trainings.
+ * @param totalDurationSeconds the total duration of the trainings in seconds.
+ * @param maxSpeed the highest average speed of the trainings.
+ * @param activities the summaries of every activity type with any training in the period.
+ */
+public record TrainingSummaryDto(
+        Long userId,
+        LocalDate from,
+        LocalDate to,
+        long trainings,
+        double totalDistance,
+        long totalDurationSeconds,
+        double maxSpeed,
+        List<ActivitySummary> activities
+) {
+
+    /**
+     * Summarizes the trainings of a user in a period from the summaries of its activity types.
+     *
+     * @param userId the ID of the user.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @param activities the summaries of the activity types.
+     * @return the summary of the period.
+     */
+    public static TrainingSummaryDto of(Long userId, LocalDate from, LocalDate to, List<ActivitySummary> activities) {
+        return new TrainingSummaryDto(
+                userId,
+                from,
+                to,
+                activities.stream().mapToLong(ActivitySummary::trainings).sum(),
+                activities.stream().mapToDouble(ActivitySummary::totalDistance).sum(),
+                activities.stream().mapToLong(ActivitySummary::totalDurationSeconds).sum(),
+                activities.stream().mapToDouble(ActivitySummary::maxSpeed).max().orElse(0),
+                activities);
+    }
+
+    /**
+     * Summary of the trainings with a single activity type.
+     *
+     * @param activityType the activity type.
+     * @param trainings the number of trainings.
+     * @param totalDistance the total distance of the trainings.
+     * @param totalDurationSeconds the total duration of the trainings in seconds.
+     * @param maxSpeed the highest average speed of the trainings.
+     */
+    public record ActivitySummary(
+            ActivityType activityType,
+            long trainings,
+            double totalDistance,
+            long totalDurationSeconds,
+            double maxSpeed
+    ) {}
+}
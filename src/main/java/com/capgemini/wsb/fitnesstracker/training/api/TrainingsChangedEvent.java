@@ -0,0 +1,63 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Application event published whenever trainings are created or updated.
+ *
+ * <p>The event is published within the transaction performing the change, so synchronous listeners take part
+ * in that transaction, while transactional listeners may react once it commits. A single event may carry
+ * many changes, e.g. when trainings are created in bulk.</p>
+ *
+ * @param changes the changes of trainings, in the order they were made.
+ */
+public record TrainingsChangedEvent(List<Change> changes) {
+
+    /**
+     * Creates an event for a single created training.
+     *
+     * @param created the snapshot of the created training.
+     * @return the event.
+     */
+    public static TrainingsChangedEvent created(TrainingSnapshot created) {
+        return new TrainingsChangedEvent(List.of(new Change(null, created)));
+    }
+
+    /**
+     * Creates an event for many created trainings.
+     *
+     * @param created the snapshots of the created trainings.
+     * @return the event.
+     */
+    public static TrainingsChangedEvent created(List<TrainingSnapshot> created) {
+        return new TrainingsChangedEvent(created.stream()
+                .map(training -> new Change(null, training))
+                .toList());
+    }
+
+    /**
+     * Creates an event for a single updated training.
+     *
+     * @param previous the snapshot of the training before the update.
+     * @param current the snapshot of the training after the update.
+     * @return the event.
+     */
+    public static TrainingsChangedEvent updated(TrainingSnapshot previous, TrainingSnapshot current) {
+        return new TrainingsChangedEvent(List.of(new Change(previous, current)));
+    }
+
+    /**
+     * A change of a single training.
+     *
+     * @param previous the state of the training before the change, or {@code null} if the training was created.
+     * @param current the state of the training after the change.
+     */
+    public record Change(@Nullable TrainingSnapshot previous, TrainingSnapshot current) {
+
+        public boolean isCreation() {
+            return previous == null;
+        }
+    }
+}
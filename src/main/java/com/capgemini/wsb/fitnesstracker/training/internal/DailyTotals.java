@@ -0,0 +1,32 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+
+/**
+ * Totals of one or more trainings, added to a {@link DailyTrainingRollup}.
+ *
+ * @param trainings the number of trainings.
+ * @param distance the total distance.
+ * @param durationSeconds the total duration in seconds.
+ * @param maxSpeed the highest average speed of the trainings.
+ */
+record DailyTotals(int trainings, double distance, long durationSeconds, double maxSpeed) {
+
+    /**
+     * Creates the totals of a single training.
+     *
+     * @param training the training.
+     * @return the totals of the training.
+     */
+    static DailyTotals of(TrainingSnapshot training) {
+        return new DailyTotals(1, training.distance(), training.duration().toSeconds(), training.averageSpeed());
+    }
+
+    DailyTotals plus(DailyTotals other) {
+        return new DailyTotals(
+                trainings + other.trainings,
+                distance + other.distance,
+                durationSeconds + other.durationSeconds,
+                Math.max(maxSpeed, other.maxSpeed));
+    }
+}
@@ -0,0 +1,74 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the trainings of a single user with a single activity type started on a single day.
+ *
+ * <p>Rollups are maintained by {@link DailyTrainingRollups} whenever trainings change, so summaries of a period
+ * read one row per day and activity type instead of every training of the period. The unique key also serves
+ * the range reads of a single user, while the activity type index serves the leaderboards of all users.</p>
+ */
+@Entity
+@Table(name = "daily_training_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_training_rollups_key", columnNames = {"user_id", "training_day", "activity_type"})
+}, indexes = {
+        @Index(name = "idx_daily_training_rollups_activity_type_training_day", columnList = "activity_type, training_day")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class DailyTrainingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "training_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "trainings", nullable = false)
+    private int trainings;
+
+    @Column(name = "total_distance", nullable = false)
+    private double totalDistance;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private long totalDurationSeconds;
+
+    @Column(name = "max_speed", nullable = false)
+    private double maxSpeed;
+
+    DailyTrainingRollup(
+            final User user,
+            final LocalDate day,
+            final ActivityType activityType,
+            final int trainings,
+            final double totalDistance,
+            final long totalDurationSeconds,
+            final double maxSpeed) {
+        this.user = user;
+        this.day = day;
+        this.activityType = activityType;
+        this.trainings = trainings;
+        this.totalDistance = totalDistance;
+        this.totalDurationSeconds = totalDurationSeconds;
+        this.maxSpeed = maxSpeed;
+    }
+}
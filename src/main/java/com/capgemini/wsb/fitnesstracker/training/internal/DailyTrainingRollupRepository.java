@@ -0,0 +1,124 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSummaryDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+interface DailyTrainingRollupRepository extends JpaRepository<DailyTrainingRollup, Long> {
+
+    /**
+     * Adds the given totals to the rollup of a specific user, day and activity type in place, without reading it first.
+     * Native SQL, as Hibernate renders an invalid H2 cast for a {@code double} parameter in a JPQL arithmetic update.
+     *
+     * @param userId the ID of the user.
+     * @param day the day of the rollup.
+     * @param activityType the ordinal of the activity type of the rollup.
+     * @param trainings the number of added trainings.
+     * @param distance the added distance.
+     * @param durationSeconds the added duration in seconds.
+     * @param maxSpeed the highest average speed of the added trainings.
+     * @return the number of updated rows, {@code 0} if there is no such rollup yet.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE daily_training_rollups
+            SET trainings = trainings + :trainings,
+                total_distance = total_distance + :distance,
+                total_duration_seconds = total_duration_seconds + :durationSeconds,
+                max_speed = GREATEST(max_speed, :maxSpeed)
+            WHERE user_id = :userId AND training_day = :day AND activity_type = :activityType""", nativeQuery = true)
+    int applyTotals(
+            @Param("userId") Long userId,
+            @Param("day") LocalDate day,
+            @Param("activityType") int activityType,
+            @Param("trainings") int trainings,
+            @Param("distance") double distance,
+            @Param("durationSeconds") long durationSeconds,
+            @Param("maxSpeed") double maxSpeed);
+
+    /**
+     * Deletes the rollup of a specific user, day and activity type.
+     *
+     * @param userId the ID of the user.
+     * @param day the day of the rollup.
+     * @param activityType the activity type of the rollup.
+     */
+    @Modifying
+    @Query("DELETE FROM DailyTrainingRollup r WHERE r.user.id = :userId AND r.day = :day AND r.activityType = :activityType")
+    void deleteByKey(
+            @Param("userId") Long userId,
+            @Param("day") LocalDate day,
+            @Param("activityType") ActivityType activityType);
+
+    /**
+     * Deletes the rollups of the given users.
+     *
+     * @param userIds the IDs of the users.
+     */
+    @Modifying
+    @Query("DELETE FROM DailyTrainingRollup r WHERE r.user.id IN :userIds")
+    void deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Finds snapshots of the trainings of a specific user with a specific activity type started in the given period,
+     * without loading the training entities.
+     *
+     * @param userId the ID of the user.
+     * @param activityType the activity type of the trainings.
+     * @param from the inclusive start of the period.
+     * @param to the exclusive end of the period.
+     * @return snapshots of the matching trainings.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)
+            FROM Training t
+            WHERE t.user.id = :userId AND t.activityType = :activityType AND t.startTime >= :from AND t.startTime < :to""")
+    List<TrainingSnapshot> findTrainingSnapshots(
+            @Param("userId") Long userId,
+            @Param("activityType") ActivityType activityType,
+            @Param("from") Date from,
+            @Param("to") Date to);
+
+    /**
+     * Finds snapshots of all trainings of the given users, without loading the training entities.
+     *
+     * @param userIds the IDs of the users.
+     * @return snapshots of the trainings of the users.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)
+            FROM Training t
+            WHERE t.user.id IN :userIds""")
+    List<TrainingSnapshot> findTrainingSnapshotsOfUsers(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Summarizes the rollups of a specific user in the given days per activity type, with a single grouped query
+     * reading at most one row per day and activity type.
+     *
+     * @param userId the ID of the user.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @return the summaries of the activity types with any training in the period, ordered by activity type.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSummaryDto$ActivitySummary(
+                r.activityType, sum(r.trainings), sum(r.totalDistance), sum(r.totalDurationSeconds), max(r.maxSpeed))
+            FROM DailyTrainingRollup r
+            WHERE r.user.id = :userId AND r.day BETWEEN :from AND :to
+            GROUP BY r.activityType
+            ORDER BY r.activityType""")
+    List<TrainingSummaryDto.ActivitySummary> summarizeUserInPeriod(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -0,0 +1,169 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the {@link DailyTrainingRollup rollups} of trainings per user, day and activity type.
+ *
+ * <p>Created trainings are added to their rollups in place. A rollup touched by an updated training is recomputed
+ * from the trainings of its user, day and activity type instead, as its highest speed cannot be derived by
+ * subtracting the previous state of the training. Days are taken in the {@link CalendarProperties#getZone() calendar
+ * zone}, the same as the month boundaries of the reports.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class DailyTrainingRollups {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final DailyTrainingRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CalendarProperties calendarProperties;
+
+    /**
+     * Applies the changes of trainings to the affected rollups.
+     *
+     * <p>The listener runs synchronously within the transaction changing the trainings, so rollups are committed
+     * (or rolled back) together with the trainings.</p>
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @EventListener
+    @Transactional
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        Set<RollupKey> recomputed = new LinkedHashSet<>();
+        event.changes().stream()
+                .filter(change -> !change.isCreation())
+                .forEach(change -> {
+                    recomputed.add(rollupKey(change.previous()));
+                    recomputed.add(rollupKey(change.current()));
+                });
+
+        Map<RollupKey, DailyTotals> added = new LinkedHashMap<>();
+        event.changes().stream()
+                .filter(TrainingsChangedEvent.Change::isCreation)
+                .map(TrainingsChangedEvent.Change::current)
+                .filter(training -> !recomputed.contains(rollupKey(training)))
+                .forEach(training -> added.merge(rollupKey(training), DailyTotals.of(training), DailyTotals::plus));
+
+        added.forEach(this::add);
+        // recomputed rollups are deleted and inserted again, under the same lock as creating them
+        recomputed.stream()
+                .map(RollupKey::userId)
+                .distinct()
+                .forEach(userRepository::lockById);
+        recomputed.forEach(this::recompute);
+    }
+
+    /**
+     * Rebuilds the rollups of all users from their existing trainings, in chunks of {@value #CHUNK_SIZE} users,
+     * each chunk in its own transaction. Meant for initializing rollups of trainings created before the rollups
+     * were maintained, or for repairing them.
+     *
+     * @return the number of users whose rollups were rebuilt.
+     */
+    public int rebuildAll() {
+        List<Long> userIds = userRepository.findAllIds();
+        log.info("Rebuilding daily training rollups of {} users", userIds.size());
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult(status -> rebuild(chunk));
+        }
+        log.info("Finished rebuilding daily training rollups of {} users", userIds.size());
+        return userIds.size();
+    }
+
+    private void rebuild(List<Long> userIds) {
+        Map<RollupKey, DailyTotals> totals = new HashMap<>();
+        for (TrainingSnapshot training : rollupRepository.findTrainingSnapshotsOfUsers(userIds)) {
+            totals.merge(rollupKey(training), DailyTotals.of(training), DailyTotals::plus);
+        }
+
+        rollupRepository.deleteAllByUserIdIn(userIds);
+        rollupRepository.saveAll(totals.entrySet().stream()
+                .map(rollup -> newRollup(rollup.getKey(), rollup.getValue()))
+                .toList());
+    }
+
+    /**
+     * Adds the totals to a rollup, creating it if missing. Creating the rollup locks its user first and retries
+     * the update, so a transaction creating the same rollup concurrently makes this one add to it instead of
+     * inserting a duplicate.
+     */
+    private void add(RollupKey key, DailyTotals totals) {
+        int updated = applyTotals(key, totals);
+        if (updated == 0) {
+            userRepository.lockById(key.userId());
+            updated = applyTotals(key, totals);
+        }
+        if (updated == 0) {
+            rollupRepository.save(newRollup(key, totals));
+        }
+    }
+
+    private int applyTotals(RollupKey key, DailyTotals totals) {
+        return rollupRepository.applyTotals(key.userId(), key.day(), key.activityType().ordinal(),
+                totals.trainings(), totals.distance(), totals.durationSeconds(), totals.maxSpeed());
+    }
+
+    private void recompute(RollupKey key) {
+        rollupRepository.deleteByKey(key.userId(), key.day(), key.activityType());
+        ZoneId zone = calendarProperties.getZone();
+        rollupRepository.findTrainingSnapshots(key.userId(), key.activityType(), key.start(zone), key.end(zone)).stream()
+                .map(DailyTotals::of)
+                .reduce(DailyTotals::plus)
+                .ifPresent(totals -> rollupRepository.save(newRollup(key, totals)));
+    }
+
+    private RollupKey rollupKey(TrainingSnapshot training) {
+        return RollupKey.of(training, calendarProperties.getZone());
+    }
+
+    private DailyTrainingRollup newRollup(RollupKey key, DailyTotals totals) {
+        return new DailyTrainingRollup(
+                userRepository.getReferenceById(key.userId()),
+                key.day(),
+                key.activityType(),
+                totals.trainings(),
+                totals.distance(),
+                totals.durationSeconds(),
+                totals.maxSpeed());
+    }
+
+    private record RollupKey(Long userId, LocalDate day, ActivityType activityType) {
+
+        static RollupKey of(TrainingSnapshot training, ZoneId zone) {
+            LocalDate day = training.startTime().toInstant().atZone(zone).toLocalDate();
+            return new RollupKey(training.userId(), day, training.activityType());
+        }
+
+        Date start(ZoneId zone) {
+            return Date.from(day.atStartOfDay(zone).toInstant());
+        }
+
+        Date end(ZoneId zone) {
+            return Date.from(day.plusDays(1).atStartOfDay(zone).toInstant());
+        }
+    }
+}
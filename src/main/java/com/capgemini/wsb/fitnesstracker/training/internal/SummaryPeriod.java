@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar period of a training summary, containing a given day.
+ */
+public enum SummaryPeriod {
+
+    /**
+     * The week from Monday to Sunday.
+     */
+    WEEK {
+        @Override
+        LocalDate firstDay(LocalDate day) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        LocalDate lastDay(LocalDate day) {
+            return day.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        }
+    },
+
+    /**
+     * The calendar month.
+     */
+    MONTH {
+        @Override
+        LocalDate firstDay(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+
+        @Override
+        LocalDate lastDay(LocalDate day) {
+            return day.withDayOfMonth(day.lengthOfMonth());
+        }
+    },
+
+    /**
+     * The calendar year.
+     */
+    YEAR {
+        @Override
+        LocalDate firstDay(LocalDate day) {
+            return day.withDayOfYear(1);
+        }
+
+        @Override
+        LocalDate lastDay(LocalDate day) {
+            return day.withDayOfYear(day.lengthOfYear());
+        }
+    };
+
+    abstract LocalDate firstDay(LocalDate day);
+
+    abstract LocalDate lastDay(LocalDate day);
+}
@@ -1,85 +1,199 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.etag.api.ETags;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.training.api.BulkTrainingResultDto;
 import com.capgemini.wsb.fitnesstracker.training.api.CreateTrainingRequestDto;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSummaryDto;
 import com.capgemini.wsb.fitnesstracker.training.api.UpdateTrainingRequestDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/v1/trainings")
 @RequiredArgsConstructor
 public class TrainingController {
 
+    /**
+     * Number of exported trainings after which the response is flushed to the client.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+
     private final TrainingServiceImpl trainingService;
+    private final DailyTrainingRollups dailyTrainingRollups;
     private final TrainingMapper trainingMapper;
+    private final ObjectMapper objectMapper;
+    private final CalendarProperties calendarProperties;
 
     /**
-     * Retrieves all trainings with detailed information.
+     * Retrieves a page of all trainings with detailed information, ordered by start time.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
+     * Issues a single select reading the trainings together with their users straight into DTOs.
      *
-     * @return a list of TrainingDto objects.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of TrainingDto objects.
      */
     @GetMapping
-    public List<TrainingDto> getAllTrainings() {
-        return trainingService.findAllTrainings()
-                .stream()
-                .map(trainingMapper::toDto)
-                .toList();
+    public ResponseEntity<List<TrainingDto>> getAllTrainings(
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return trainingService.findTrainings(cursor, size)
+                .toResponseEntity();
     }
 
     /**
-     * Retrieves all trainings for a specific user.
+     * Retrieves all trainings for a specific user, tagged with the {@link TrainingsVersion aggregate version}
+     * of the trainings. Issues a single select reading the trainings together with their users straight into DTOs.
+     * A request whose {@code If-None-Match} header matches the current aggregate version is answered
+     * with 304 Not Modified after a single select of the version columns, without loading the trainings.
      *
      * @param userId the ID of the user.
-     * @return a list of TrainingDto objects associated with the user.
+     * @param request the current request.
+     * @return a ResponseEntity containing a list of TrainingDto objects associated with the user,
+     *         or 304 Not Modified if the trainings are unchanged.
      */
     @GetMapping("/{userId}")
-    public List<TrainingDto> getTrainingsByUserId(@PathVariable Long userId) {
-        return trainingService.findTrainingsByUserId(userId)
-                .stream()
-                .map(trainingMapper::toDto)
-                .toList();
+    public ResponseEntity<List<TrainingDto>> getTrainingsByUserId(@PathVariable Long userId, WebRequest request) {
+        return ETags.<List<TrainingDto>>notModified(request, () -> Optional.of(trainingService.getTrainingsVersion(userId).eTag()))
+                .orElseGet(() -> {
+                    List<TrainingRow> trainings = trainingService.findTrainingsByUserId(userId);
+                    return ResponseEntity.ok()
+                            .eTag(TrainingsVersion.of(trainings).eTag())
+                            .body(trainings.stream().map(TrainingRow::training).toList());
+                });
     }
 
     /**
-     * Retrieves all finished trainings that ended after the specified time.
+     * Retrieves a page of finished trainings that ended after the specified time, ordered by start time.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
+     * Issues a single select reading the trainings together with their users straight into DTOs.
      *
      * @param afterTime the time after which finished trainings should be fetched.
-     * @return a list of TrainingDto objects.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of TrainingDto objects.
      */
     @GetMapping("/finished/{afterTime}")
-    public List<TrainingDto> getFinishedTrainingsAfter(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date afterTime) {
-        return trainingService.findFinishedTrainingsAfter(afterTime)
-                .stream()
-                .map(trainingMapper::toDto)
-                .toList();
+    public ResponseEntity<List<TrainingDto>> getFinishedTrainingsAfter(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date afterTime,
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return trainingService.findFinishedTrainingsAfter(afterTime, cursor, size)
+                .toResponseEntity();
     }
 
     /**
-     * Retrieves all trainings with the specified activity type.
+     * Retrieves a page of trainings with the specified activity type, ordered by start time.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
+     * Issues a single select reading the trainings together with their users straight into DTOs.
      *
      * @param activityType the activity type to filter by.
-     * @return a list of TrainingDto objects matching the activity type.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of TrainingDto objects matching the activity type.
      */
     @GetMapping("/activityType")
-    public List<TrainingDto> getTrainingsByActivityType(@RequestParam ActivityType activityType) {
-        return trainingService.findTrainingsByActivityType(activityType)
-                .stream()
-                .map(trainingMapper::toDto)
-                .toList();
+    public ResponseEntity<List<TrainingDto>> getTrainingsByActivityType(
+            @RequestParam ActivityType activityType,
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return trainingService.findTrainingsByActivityType(activityType, cursor, size)
+                .toResponseEntity();
+    }
+
+    /**
+     * Summarizes the trainings of a user in the week (Monday to Sunday), month or year containing the given day.
+     * Issues a single grouped select over the daily rollups of the user, without reading any training.
+     *
+     * @param userId the ID of the user.
+     * @param period the period of the summary, the month by default.
+     * @param day any day of the period, today by default.
+     * @return the summary of the trainings of the user in the period, in total and per activity type.
+     */
+    @GetMapping("/summary/{userId}")
+    public TrainingSummaryDto getTrainingSummary(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "MONTH") SummaryPeriod period,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return trainingService.getTrainingSummary(userId, period, day != null ? day : LocalDate.now(calendarProperties.getZone()));
+    }
+
+    /**
+     * Rebuilds the daily rollups of all users from their existing trainings.
+     *
+     * @return a ResponseEntity containing a message with the number of users whose rollups were rebuilt.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<String> rebuildRollups() {
+        int users = dailyTrainingRollups.rebuildAll();
+        return ResponseEntity.ok("Daily training rollups rebuilt for " + users + " users");
+    }
+
+    /**
+     * Exports the trainings matching the optional filters as newline-delimited JSON, one TrainingDto per line,
+     * ordered by start time. The trainings are written to the response as they are read from a database cursor,
+     * so neither the result set nor the response body is held in memory, and a slow client only slows the export down.
+     *
+     * @param userId the ID of the user whose trainings are exported, omitted for all users.
+     * @param activityType the activity type of the exported trainings, omitted for all activity types.
+     * @param from the first day of the exported trainings' start time, omitted for no lower bound.
+     * @param to the day after the last day of the exported trainings' start time, omitted for no upper bound.
+     * @param response the response the trainings are written to.
+     * @throws IOException if writing to the response fails, e.g. as the client disconnected.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTrainings(
+            @RequestParam(required = false) @Nullable Long userId,
+            @RequestParam(required = false) @Nullable ActivityType activityType,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date from,
+            @RequestParam(required = false) @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            // Sends the headers before the query runs
+            generator.flush();
+            AtomicInteger exported = new AtomicInteger();
+            trainingService.exportTrainings(userId, activityType, from, to, training -> {
+                try {
+                    objectMapper.writeValue(generator, training);
+                    generator.writeRaw('\n');
+                    if (exported.incrementAndGet() % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     /**
      * Creates a new training.
+     * Issues one insert, preceded by one select loading the user unless it is cached.
      *
      * @param request the request payload containing training details.
      * @return the created TrainingDto.
@@ -91,8 +205,22 @@ public class TrainingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(trainingDto);
     }
 
+    /**
+     * Creates many trainings at once, e.g. uploaded by a watch or an app sync.
+     * Invalid items and items of missing users are reported and skipped, while all the others are created.
+     * Issues one select loading all the users, and the inserts in JDBC batches.
+     *
+     * @param requests the request payload containing the details of up to {@value TrainingServiceImpl#MAX_BULK_SIZE} trainings.
+     * @return the outcome of every item, in request order.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTrainingResultDto> createTrainings(@RequestBody List<CreateTrainingRequestDto> requests) {
+        return ResponseEntity.ok(trainingService.createTrainings(requests));
+    }
+
     /**
      * Updates an existing training.
+     * Issues one select loading the training and one update, plus one select loading the user unless it is cached.
      *
      * @param trainingId the ID of the training to update.
      * @param request the request payload containing updated training details.
@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts the created trainings per activity type in the {@value #CREATED_METER} meter, tagged with
+ * {@code activityType}. Trainings are counted once the transaction creating them commits, so rolled back
+ * creations are never counted.
+ */
+@Component
+class TrainingMetrics {
+
+    /**
+     * Name of the counter of created trainings.
+     */
+    static final String CREATED_METER = "fitnesstracker.trainings.created";
+
+    private final Map<ActivityType, Counter> createdTrainings = new EnumMap<>(ActivityType.class);
+
+    TrainingMetrics(MeterRegistry meterRegistry) {
+        for (ActivityType activityType : ActivityType.values()) {
+            createdTrainings.put(activityType, Counter.builder(CREATED_METER)
+                    .description("Trainings created")
+                    .tag("activityType", activityType.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Counts the created trainings once the transaction creating them commits.
+     *
+     * @param event the event describing the changed trainings.
+     */
+    @TransactionalEventListener
+    public void onTrainingsChanged(TrainingsChangedEvent event) {
+        for (TrainingsChangedEvent.Change change : event.changes()) {
+            if (change.isCreation()) {
+                createdTrainings.get(change.current().activityType()).increment();
+            }
+        }
+    }
+}
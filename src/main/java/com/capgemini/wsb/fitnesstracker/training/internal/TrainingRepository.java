@@ -1,39 +1,187 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Repository of {@link Training} entities.
+ *
+ * <p>Entities are only loaded to be written. Every finder used for listings reads the trainings straight into
+ * {@link TrainingDto}s, together with their users, with a single select joining the users, so no entity is hydrated,
+ * put in the persistence context or dirty-checked. Each finder therefore issues exactly one query, regardless
+ * of the number of returned trainings.</p>
+ */
 interface TrainingRepository extends JpaRepository<Training, Long> {
 
+    /**
+     * Number of rows fetched from the database cursor at once by {@link #streamForExport}.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Constructor expression of the {@link TrainingDto} of a training {@code t} joined with its user {@code u}.
+     */
+    String TRAINING_DTO = """
+            new com.capgemini.wsb.fitnesstracker.training.api.TrainingDto(
+                new com.capgemini.wsb.fitnesstracker.user.internal.UserDto(u.id, u.firstName, u.lastName, u.birthdate, u.email),
+                t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed)""";
+
+    /**
+     * Select of the {@link TrainingRow}s of trainings {@code t} joined with their users {@code u}.
+     */
+    String SELECT_TRAINING_ROWS = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.TrainingRow(t.id, t.version, u.version, "
+            + TRAINING_DTO + ") FROM Training t JOIN t.user u ";
+
     /**
      * Finds all trainings for a specific user by user ID.
      *
      * @param userId the ID of the user.
      * @return a list of trainings associated with the user.
      */
-    List<Training> findAllByUser_Id(Long userId);
+    @Query(SELECT_TRAINING_ROWS + "WHERE u.id = :userId")
+    List<TrainingRow> findAllByUser_Id(@Param("userId") Long userId);
+
+    /**
+     * Finds the version columns of all trainings of a user with a single select, without loading the training
+     * entities nor reading their other columns.
+     *
+     * @param userId the ID of the user.
+     * @return the versions of the trainings of the user, ordered by ID.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.internal.TrainingVersionRow(t.id, t.version, u.version)
+            FROM Training t
+            JOIN t.user u
+            WHERE u.id = :userId
+            ORDER BY t.id""")
+    List<TrainingVersionRow> findVersionsOfUserTrainings(@Param("userId") Long userId);
+
+    /**
+     * Finds the first page of all trainings, ordered by start time and ID.
+     *
+     * @param limit the maximum number of trainings to return.
+     * @return the first page of trainings.
+     */
+    @Query(SELECT_TRAINING_ROWS + "ORDER BY t.startTime, t.id")
+    List<TrainingRow> findAllByOrderByStartTimeAscIdAsc(Limit limit);
+
+    /**
+     * Finds the page of all trainings following the given keyset position, ordered by start time and ID.
+     *
+     * @param startTime the start time of the last training of the previous page.
+     * @param id the ID of the last training of the previous page.
+     * @param limit the maximum number of trainings to return.
+     * @return the page of trainings following the given position.
+     */
+    @Query(SELECT_TRAINING_ROWS + """
+            WHERE t.startTime >= :startTime AND (t.startTime > :startTime OR t.id > :id)
+            ORDER BY t.startTime, t.id""")
+    List<TrainingRow> findPageAfter(@Param("startTime") Date startTime, @Param("id") Long id, Limit limit);
+
+    /**
+     * Finds the first page of trainings that have finished (i.e., endTime is after the specified time),
+     * ordered by start time and ID.
+     *
+     * @param afterTime the time after which trainings should be fetched.
+     * @param limit the maximum number of trainings to return.
+     * @return the first page of finished trainings.
+     */
+    @Query(SELECT_TRAINING_ROWS + """
+            WHERE t.endTime > :afterTime
+            ORDER BY t.startTime, t.id""")
+    List<TrainingRow> findAllByEndTimeAfterOrderByStartTimeAscIdAsc(@Param("afterTime") Date afterTime, Limit limit);
 
     /**
-     * Finds all trainings that have finished (i.e., endTime is after the specified time).
+     * Finds the page of finished trainings following the given keyset position, ordered by start time and ID.
      *
      * @param afterTime the time after which trainings should be fetched.
-     * @return a list of finished trainings.
+     * @param startTime the start time of the last training of the previous page.
+     * @param id the ID of the last training of the previous page.
+     * @param limit the maximum number of trainings to return.
+     * @return the page of finished trainings following the given position.
+     */
+    @Query(SELECT_TRAINING_ROWS + """
+            WHERE t.endTime > :afterTime
+            AND t.startTime >= :startTime AND (t.startTime > :startTime OR t.id > :id)
+            ORDER BY t.startTime, t.id""")
+    List<TrainingRow> findFinishedPageAfter(
+            @Param("afterTime") Date afterTime,
+            @Param("startTime") Date startTime,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Finds the first page of trainings with the specified activity type, ordered by start time and ID.
+     *
+     * @param activityType the type of activity to filter by.
+     * @param limit the maximum number of trainings to return.
+     * @return the first page of trainings with the given activity type.
      */
-    List<Training> findAllByEndTimeAfter(Date afterTime);
+    @Query(SELECT_TRAINING_ROWS + """
+            WHERE t.activityType = :activityType
+            ORDER BY t.startTime, t.id""")
+    List<TrainingRow> findAllByActivityTypeOrderByStartTimeAscIdAsc(@Param("activityType") ActivityType activityType, Limit limit);
 
     /**
-     * Finds all trainings with the specified activity type.
+     * Finds the page of trainings with the specified activity type following the given keyset position,
+     * ordered by start time and ID.
      *
      * @param activityType the type of activity to filter by.
-     * @return a list of trainings with the given activity type.
+     * @param startTime the start time of the last training of the previous page.
+     * @param id the ID of the last training of the previous page.
+     * @param limit the maximum number of trainings to return.
+     * @return the page of trainings with the given activity type following the given position.
      */
-    List<Training> findAllByActivityType(ActivityType activityType);
+    @Query(SELECT_TRAINING_ROWS + """
+            WHERE t.activityType = :activityType
+            AND t.startTime >= :startTime AND (t.startTime > :startTime OR t.id > :id)
+            ORDER BY t.startTime, t.id""")
+    List<TrainingRow> findActivityTypePageAfter(
+            @Param("activityType") ActivityType activityType,
+            @Param("startTime") Date startTime,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Streams the trainings matching the given filters, ordered by start time and ID, together with their users,
+     * read straight into DTOs.
+     * Rows are read from a database cursor {@value #EXPORT_FETCH_SIZE} at a time, so the result set is never held
+     * in memory. The stream must be consumed and closed within a transaction.
+     *
+     * @param userId the ID of the user, or {@code null} for trainings of all users.
+     * @param activityType the activity type, or {@code null} for all activity types.
+     * @param from the inclusive lower bound of the start time, or {@code null} for no lower bound.
+     * @param to the exclusive upper bound of the start time, or {@code null} for no upper bound.
+     * @return the stream of matching trainings.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT " + TRAINING_DTO + """
+            FROM Training t
+            JOIN t.user u
+            WHERE (:userId IS NULL OR u.id = :userId)
+            AND (:activityType IS NULL OR t.activityType = :activityType)
+            AND (:from IS NULL OR t.startTime >= :from)
+            AND (:to IS NULL OR t.startTime < :to)
+            ORDER BY t.startTime, t.id""")
+    Stream<TrainingDto> streamForExport(
+            @Param("userId") @Nullable Long userId,
+            @Param("activityType") @Nullable ActivityType activityType,
+            @Param("from") @Nullable Date from,
+            @Param("to") @Nullable Date to);
 
     /**
      * Finds all trainings for a specific user in a specific month.
@@ -43,9 +191,31 @@ interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param endDate the end date of the month.
      * @return a list of trainings for the user in the given month.
      */
-    @Query("SELECT t FROM Training t WHERE t.user.id = :userId AND t.startTime BETWEEN :startDate AND :endDate")
-    List<Training> findAllByUserIdAndMonth(
+    @Query("SELECT " + TRAINING_DTO + """
+            FROM Training t
+            JOIN t.user u
+            WHERE u.id = :userId AND t.startTime BETWEEN :startDate AND :endDate""")
+    List<TrainingDto> findAllByUserIdAndMonth(
             @Param("userId") Long userId,
             @Param("startDate") Date startDate,
             @Param("endDate") Date endDate);
+
+    /**
+     * Summarizes trainings of every user in the given period with a single grouped query.
+     * Users without any training in the period are included with zero count and distance.
+     *
+     * @param startDate the start of the period.
+     * @param endDate the end of the period.
+     * @return training summaries of all users, ordered by user ID.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto$UserTrainingSummary(
+                u.id, concat(u.firstName, ' ', u.lastName), u.email, count(t.id), coalesce(sum(t.distance), 0.0))
+            FROM User u
+            LEFT JOIN Training t ON t.user = u AND t.startTime BETWEEN :startDate AND :endDate
+            GROUP BY u.id, u.firstName, u.lastName, u.email
+            ORDER BY u.id""")
+    List<MonthlyAdminReportDto.UserTrainingSummary> summarizeAllUsersInPeriod(
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
 }
@@ -0,0 +1,25 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.paging.api.PageCursor;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+
+/**
+ * A training read straight into its {@link TrainingDto} by a single select joining the user, without loading
+ * the training and user entities, together with the columns needed to page and tag the listings.
+ *
+ * @param id the ID of the training.
+ * @param version the version of the training.
+ * @param userVersion the version of the user of the training.
+ * @param training the returned training details.
+ */
+record TrainingRow(long id, long version, long userVersion, TrainingDto training) {
+
+    /**
+     * Creates the cursor pointing right after this training in listings ordered by start time and ID.
+     *
+     * @return the cursor of the next page.
+     */
+    String cursor() {
+        return PageCursor.encode(training.startTime().getTime(), id);
+    }
+}
@@ -1,29 +1,77 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyTrainingReportDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.paging.api.PageCursor;
 import com.capgemini.wsb.fitnesstracker.training.api.*;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
-import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Service implementation for managing trainings.
+ *
+ * <p>Trainings are read straight into DTOs by read-only transactions, which run with flushing disabled,
+ * while the entities are only loaded to be created or updated.</p>
+ *
+ * <p>Every public method called through the Spring proxy is timed by the {@value #SERVICE_METER} meter, tagged
+ * with the method name and the exception thrown, if any.</p>
+ */
 @Service
 @RequiredArgsConstructor
+@Timed(value = TrainingServiceImpl.SERVICE_METER, histogram = true)
 public class TrainingServiceImpl implements TrainingProvider {
 
+    /**
+     * Name of the timer of the methods of the service.
+     */
+    static final String SERVICE_METER = "fitnesstracker.trainings.service";
+
+    /**
+     * Maximum number of trainings created by a single {@link #createTrainings(List)} call.
+     */
+    static final int MAX_BULK_SIZE = 10_000;
+
+    /**
+     * Number of trainings inserted by a single JDBC batch in {@link #createTrainings(List)}.
+     */
+    static final int BULK_BATCH_SIZE = 500;
+
     private final TrainingRepository trainingRepository;
-    private final UserRepository userRepository;
-    private final TrainingMapper trainingMapper;
+    private final DailyTrainingRollupRepository rollupRepository;
+    private final UserProvider userProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final CalendarProperties calendarProperties;
 
     @Override
     public Optional<Training> getTraining(final Long trainingId) {
@@ -31,54 +79,114 @@ public class TrainingServiceImpl implements TrainingProvider {
     }
 
     /**
-     * Retrieves all trainings from the database.
+     * Retrieves a page of all trainings, ordered by start time and ID.
      *
-     * @return a list of all trainings.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of trainings.
      */
-    public List<Training> findAllTrainings() {
-        return trainingRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<TrainingDto> findTrainings(@Nullable String cursor, int size) {
+        int pageSize = CursorPage.boundedSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<TrainingRow> rows = cursor == null
+                ? trainingRepository.findAllByOrderByStartTimeAscIdAsc(limit)
+                : trainingRepository.findPageAfter(cursorStartTime(cursor), cursorId(cursor), limit);
+        return CursorPage.of(rows, pageSize, TrainingRow::cursor).map(TrainingRow::training);
     }
 
     /**
      * Retrieves all trainings for a specific user.
      *
      * @param userId the ID of the user.
-     * @return a list of trainings associated with the user.
+     * @return a list of trainings associated with the user, with their versions.
      */
-    public List<Training> findTrainingsByUserId(Long userId) {
-        return trainingRepository.findAllByUser_Id(userId); // Use the derived query method
+    @Transactional(readOnly = true)
+    public List<TrainingRow> findTrainingsByUserId(Long userId) {
+        return trainingRepository.findAllByUser_Id(userId);
     }
 
     /**
-     * Retrieves all finished trainings after the specified time.
+     * Computes the aggregate version of all trainings of a specific user from their version columns only, without
+     * loading the trainings.
+     *
+     * @param userId the ID of the user.
+     * @return the aggregate version of the trainings of the user.
+     */
+    @Transactional(readOnly = true)
+    public TrainingsVersion getTrainingsVersion(Long userId) {
+        return TrainingsVersion.ofVersions(trainingRepository.findVersionsOfUserTrainings(userId));
+    }
+
+    /**
+     * Retrieves a page of finished trainings after the specified time, ordered by start time and ID.
      *
      * @param afterTime the time after which trainings should be fetched.
-     * @return a list of finished trainings.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of finished trainings.
      */
-    public List<Training> findFinishedTrainingsAfter(Date afterTime) {
-        return trainingRepository.findAllByEndTimeAfter(afterTime);
+    @Transactional(readOnly = true)
+    public CursorPage<TrainingDto> findFinishedTrainingsAfter(Date afterTime, @Nullable String cursor, int size) {
+        int pageSize = CursorPage.boundedSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<TrainingRow> rows = cursor == null
+                ? trainingRepository.findAllByEndTimeAfterOrderByStartTimeAscIdAsc(afterTime, limit)
+                : trainingRepository.findFinishedPageAfter(afterTime, cursorStartTime(cursor), cursorId(cursor), limit);
+        return CursorPage.of(rows, pageSize, TrainingRow::cursor).map(TrainingRow::training);
     }
 
     /**
-     * Retrieves all trainings with the specified activity type.
+     * Retrieves a page of trainings with the specified activity type, ordered by start time and ID.
      *
      * @param activityType the activity type to filter by.
-     * @return a list of trainings with the given activity type.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of trainings with the given activity type.
      */
-    public List<Training> findTrainingsByActivityType(ActivityType activityType) {
-        return trainingRepository.findAllByActivityType(activityType);
+    @Transactional(readOnly = true)
+    public CursorPage<TrainingDto> findTrainingsByActivityType(ActivityType activityType, @Nullable String cursor, int size) {
+        int pageSize = CursorPage.boundedSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<TrainingRow> rows = cursor == null
+                ? trainingRepository.findAllByActivityTypeOrderByStartTimeAscIdAsc(activityType, limit)
+                : trainingRepository.findActivityTypePageAfter(activityType, cursorStartTime(cursor), cursorId(cursor), limit);
+        return CursorPage.of(rows, pageSize, TrainingRow::cursor).map(TrainingRow::training);
     }
 
     /**
-     * Creates a new training.
+     * Passes the trainings matching the given filters to the consumer one by one, ordered by start time and ID,
+     * as they are read from a database cursor. The trainings are read straight into DTOs, which are not kept
+     * in the persistence context, so the memory used does not depend on the number of exported trainings.
+     *
+     * @param userId the ID of the user, or {@code null} for trainings of all users.
+     * @param activityType the activity type, or {@code null} for all activity types.
+     * @param from the inclusive lower bound of the start time, or {@code null} for no lower bound.
+     * @param to the exclusive upper bound of the start time, or {@code null} for no upper bound.
+     * @param consumer the consumer of the exported trainings.
+     */
+    @Transactional(readOnly = true)
+    public void exportTrainings(
+            @Nullable Long userId,
+            @Nullable ActivityType activityType,
+            @Nullable Date from,
+            @Nullable Date to,
+            Consumer<TrainingDto> consumer) {
+        try (Stream<TrainingDto> trainings = trainingRepository.streamForExport(userId, activityType, from, to)) {
+            trainings.forEach(consumer);
+        }
+    }
+
+    /**
+     * Creates a new training and publishes the {@link TrainingsChangedEvent} within the transaction.
      *
      * @param request the DTO containing training details.
      * @return the saved Training entity.
      * @throws NoSuchElementException if the user is not found.
      */
+    @Transactional
     public Training createTraining(CreateTrainingRequestDto request) {
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new NoSuchElementException("User with ID " + request.userId() + " not found"));
+        User user = userReference(request.userId());
 
         Training training = new Training(
                 user,
@@ -89,24 +197,105 @@ public class TrainingServiceImpl implements TrainingProvider {
                 request.averageSpeed()
         );
 
-        return trainingRepository.save(training);
+        Training savedTraining = trainingRepository.save(training);
+        eventPublisher.publishEvent(TrainingsChangedEvent.created(TrainingSnapshot.of(savedTraining)));
+        return savedTraining;
+    }
+
+    /**
+     * Creates many trainings at once and publishes a single {@link TrainingsChangedEvent} for all of them
+     * within the transaction.
+     *
+     * <p>Every item is validated on its own: invalid items and items of missing users are reported and skipped,
+     * while all the others are created. The users are loaded by a single query, and the trainings are inserted
+     * in JDBC batches of {@value #BULK_BATCH_SIZE}, with IDs taken from the pooled sequence of {@link Training}.</p>
+     *
+     * @param requests the DTOs containing training details, at most {@value #MAX_BULK_SIZE}.
+     * @return the outcome of every item, in request order.
+     * @throws BusinessException if more than {@value #MAX_BULK_SIZE} trainings are requested.
+     */
+    @Transactional
+    public BulkTrainingResultDto createTrainings(List<CreateTrainingRequestDto> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BusinessException("At most " + MAX_BULK_SIZE + " trainings can be created at once, but got " + requests.size());
+        }
+        List<String> errors = requests.stream()
+                .map(this::validationError)
+                .toList();
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors.get(i) == null) {
+                userIds.add(requests.get(i).userId());
+            }
+        }
+        Map<Long, User> users = userProvider.getUsers(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(BULK_BATCH_SIZE);
+        List<BulkTrainingResultDto.Item> items = new ArrayList<>(requests.size());
+        List<TrainingSnapshot> created = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTrainingRequestDto request = requests.get(i);
+            String error = errors.get(i);
+            User user = error == null ? users.get(request.userId()) : null;
+            if (error == null && user == null) {
+                error = "User with ID " + request.userId() + " not found";
+            }
+            if (error != null) {
+                items.add(BulkTrainingResultDto.Item.failed(i, error));
+                continue;
+            }
+
+            Training training = new Training(user, request.startTime(), request.endTime(), request.activityType(),
+                    request.distance(), request.averageSpeed());
+            session.persist(training);
+            items.add(BulkTrainingResultDto.Item.created(i, training.getId()));
+            created.add(TrainingSnapshot.of(training));
+            if (created.size() % BULK_BATCH_SIZE == 0) {
+                // Keeps the persistence context small, the users stay usable as references once detached
+                session.flush();
+                session.clear();
+            }
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(TrainingsChangedEvent.created(created));
+        }
+        return new BulkTrainingResultDto(created.size(), requests.size() - created.size(), items);
+    }
+
+    @Nullable
+    private String validationError(@Nullable CreateTrainingRequestDto request) {
+        if (request == null) {
+            return "Training must not be null";
+        }
+        Set<ConstraintViolation<CreateTrainingRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 
     /**
-     * Updates an existing training.
+     * Updates an existing training and publishes the {@link TrainingsChangedEvent} within the transaction.
      *
      * @param trainingId the ID of the training to update.
      * @param request the DTO containing updated training details.
      * @return the updated Training entity.
      * @throws NoSuchElementException if the training or user is not found.
      */
+    @Transactional
     public Training updateTraining(Long trainingId, UpdateTrainingRequestDto request) {
         Training existingTraining = trainingRepository.findById(trainingId)
                 .orElseThrow(() -> new NoSuchElementException("Training with ID " + trainingId + " not found"));
 
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new NoSuchElementException("User with ID " + request.userId() + " not found"));
+        User user = userReference(request.userId());
 
+        TrainingSnapshot previous = TrainingSnapshot.of(existingTraining);
         existingTraining.setUser(user);
         existingTraining.setStartTime(request.startTime());
         existingTraining.setEndTime(request.endTime());
@@ -114,7 +303,23 @@ public class TrainingServiceImpl implements TrainingProvider {
         existingTraining.setDistance(request.distance());
         existingTraining.setAverageSpeed(request.averageSpeed());
 
-        return trainingRepository.save(existingTraining);
+        Training updatedTraining = trainingRepository.save(existingTraining);
+        eventPublisher.publishEvent(TrainingsChangedEvent.updated(previous, TrainingSnapshot.of(updatedTraining)));
+        return updatedTraining;
+    }
+
+    /**
+     * Checks that a user exists, against the cached user snapshots, and returns a reference to the user
+     * to be set as the user of a training.
+     *
+     * @param userId the ID of the user.
+     * @return a reference to the user.
+     * @throws NoSuchElementException if the user is not found.
+     */
+    private User userReference(Long userId) {
+        userProvider.getUser(userId)
+                .orElseThrow(() -> new NoSuchElementException("User with ID " + userId + " not found"));
+        return userProvider.getUserReference(userId);
     }
 
     /**
@@ -124,53 +329,67 @@ public class TrainingServiceImpl implements TrainingProvider {
      * @param month the month for the report (e.g., "2024-10-01").
      * @return a MonthlyTrainingReportDto containing user and training details.
      */
+    @Transactional(readOnly = true)
     public MonthlyTrainingReportDto generateMonthlyReport(Long userId, LocalDate month) {
-        LocalDate startDate = month.withDayOfMonth(1);
-        LocalDate endDate = month.withDayOfMonth(month.lengthOfMonth());
-
-        Date start = Timestamp.valueOf(startDate.atStartOfDay());
-        Date end = Timestamp.valueOf(endDate.atTime(LocalTime.MAX));
-
-        List<Training> trainings = trainingRepository.findAllByUserIdAndMonth(userId, start, end);
+        List<TrainingDto> trainings = trainingRepository.findAllByUserIdAndMonth(userId, monthStart(month), monthEnd(month));
 
         String userName = trainings.isEmpty() ? "" :
-                trainings.get(0).getUser().getFirstName() + " " + trainings.get(0).getUser().getLastName();
-        String userEmail = trainings.isEmpty() ? "" : trainings.get(0).getUser().getEmail();
+                trainings.get(0).user().firstName() + " " + trainings.get(0).user().lastName();
+        String userEmail = trainings.isEmpty() ? "" : trainings.get(0).user().email();
 
         return new MonthlyTrainingReportDto(
                 userId,
                 userName,
                 userEmail,
-                trainings.stream().map(trainingMapper::toDto).toList()
+                trainings
         );
     }
 
     /**
      * Generates a monthly summary report for the administrator.
+     * The summaries of all users are computed by a single grouped query, without loading any training.
      *
      * @param month the month for which the report is generated.
      * @return a {@link MonthlyAdminReportDto} containing user summaries.
      */
     public MonthlyAdminReportDto generateAdminMonthlyReport(LocalDate month) {
-        LocalDate startDate = month.withDayOfMonth(1);
-        LocalDate endDate = startDate.plusMonths(1).minusDays(1);
-
-        List<MonthlyAdminReportDto.UserTrainingSummary> userSummaries = userRepository.findAll().stream()
-                .map(user -> {
-                    int trainingCount = trainingRepository.findAllByUserIdAndMonth(
-                            user.getId(),
-                            java.sql.Date.valueOf(startDate),
-                            java.sql.Date.valueOf(endDate)
-                    ).size();
-
-                    return new MonthlyAdminReportDto.UserTrainingSummary(
-                            user.getFirstName() + " " + user.getLastName(),
-                            user.getEmail(),
-                            trainingCount
-                    );
-                })
-                .collect(Collectors.toList());
+        List<MonthlyAdminReportDto.UserTrainingSummary> userSummaries =
+                trainingRepository.summarizeAllUsersInPeriod(monthStart(month), monthEnd(month));
 
         return new MonthlyAdminReportDto(month.toString(), userSummaries);
     }
+
+    /**
+     * Summarizes the trainings of a user in the week, month or year containing the given day.
+     * The summary is read from the {@link DailyTrainingRollup daily rollups} of the user, at most one row per day
+     * and activity type, without loading any training.
+     *
+     * @param userId the ID of the user.
+     * @param period the period of the summary.
+     * @param day any day of the period.
+     * @return the summary of the trainings of the user in the period, with zero totals if there are none.
+     */
+    public TrainingSummaryDto getTrainingSummary(Long userId, SummaryPeriod period, LocalDate day) {
+        LocalDate from = period.firstDay(day);
+        LocalDate to = period.lastDay(day);
+        return TrainingSummaryDto.of(userId, from, to, rollupRepository.summarizeUserInPeriod(userId, from, to));
+    }
+
+    private Date monthStart(LocalDate month) {
+        return Date.from(month.withDayOfMonth(1).atStartOfDay(calendarProperties.getZone()).toInstant());
+    }
+
+    private Date monthEnd(LocalDate month) {
+        return Date.from(month.withDayOfMonth(month.lengthOfMonth()).atTime(LocalTime.MAX)
+                .atZone(calendarProperties.getZone())
+                .toInstant());
+    }
+
+    private static Date cursorStartTime(String cursor) {
+        return new Date(PageCursor.decode(cursor, 2)[0]);
+    }
+
+    private static Long cursorId(String cursor) {
+        return PageCursor.decode(cursor, 2)[1];
+    }
 }
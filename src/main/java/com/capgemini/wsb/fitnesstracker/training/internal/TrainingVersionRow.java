@@ -0,0 +1,11 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * The version columns of a training, read without the other columns of the training to tag the listings.
+ *
+ * @param id the ID of the training.
+ * @param version the version of the training.
+ * @param userVersion the version of the user of the training.
+ */
+record TrainingVersionRow(long id, long version, long userVersion) {
+}
@@ -0,0 +1,74 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.etag.api.ETags;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Aggregate version of all trainings of a user, used as the entity tag of the list of the trainings.
+ *
+ * <p>The version is a SHA-256 digest of the ID and version of every training of the user, in the order of their IDs,
+ * and of the version of the user, as the listed trainings embed the user. Creating, updating or moving any training
+ * of the user therefore changes it, unlike sums of the IDs and versions, which different sets of trainings
+ * share easily.</p>
+ *
+ * @param digest the hexadecimal digest, truncated to {@value #DIGEST_BYTES} bytes.
+ */
+record TrainingsVersion(String digest) {
+
+    private static final int DIGEST_BYTES = 16;
+
+    /**
+     * Computes the aggregate version of already loaded trainings of a user.
+     *
+     * @param trainings all trainings of the user.
+     * @return the aggregate version of the trainings.
+     */
+    static TrainingsVersion of(List<TrainingRow> trainings) {
+        return ofVersions(trainings.stream()
+                .map(training -> new TrainingVersionRow(training.id(), training.version(), training.userVersion()))
+                .toList());
+    }
+
+    /**
+     * Computes the aggregate version of trainings of a user from their version columns.
+     *
+     * @param trainings the version columns of all trainings of the user, in any order.
+     * @return the aggregate version of the trainings.
+     */
+    static TrainingsVersion ofVersions(List<TrainingVersionRow> trainings) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        digest.update(buffer.putLong(trainings.isEmpty() ? 0 : trainings.get(0).userVersion()).array(), 0, Long.BYTES);
+        trainings.stream()
+                .sorted(Comparator.comparingLong(TrainingVersionRow::id))
+                .forEach(training -> {
+                    buffer.clear();
+                    digest.update(buffer.putLong(training.id()).putLong(training.version()).array());
+                });
+        return new TrainingsVersion(HexFormat.of().formatHex(digest.digest(), 0, DIGEST_BYTES));
+    }
+
+    /**
+     * Returns the entity tag of the list of the trainings.
+     *
+     * @return the quoted entity tag.
+     */
+    String eTag() {
+        return ETags.of(digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -13,11 +13,27 @@ import java.time.LocalDate;
 @ToString
 public class User {
 
+    /**
+     * Number of IDs reserved by a single call of the {@value #ID_SEQUENCE} sequence, so imported users
+     * need few sequence calls and can be inserted in JDBC batches.
+     */
+    private static final int ID_ALLOCATION_SIZE = 100;
+
+    private static final String ID_SEQUENCE = "users_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Nullable
     private Long id;
 
+    /**
+     * Version of the user, incremented by every update, so unchanged users can be detected without reading them.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Setter
     @Getter
     @Column(name = "first_name", nullable = false)
@@ -1,33 +1,48 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserProvider {
 
     /**
-     * Retrieves a user based on their ID.
+     * Retrieves an immutable snapshot of a user based on their ID.
      * If the user with given ID is not found, then {@link Optional#empty()} will be returned.
      *
      * @param userId id of the user to be searched
-     * @return An {@link Optional} containing the located user, or {@link Optional#empty()} if not found
+     * @return An {@link Optional} containing the snapshot of the located user, or {@link Optional#empty()} if not found
+     */
+    Optional<UserSnapshot> getUser(Long userId);
+
+    /**
+     * Retrieves a reference to a user, to be set as the target of an association, without loading the user.
+     * The user is expected to exist, e.g. checked by {@link #getUser(Long)} beforehand.
+     *
+     * @param userId id of the user
+     * @return A reference to the user, managed by the current persistence context
      */
-    Optional<User> getUser(Long userId);
+    User getUserReference(Long userId);
 
     /**
-     * Retrieves a user based on their email.
-     * If the user with given email is not found, then {@link Optional#empty()} will be returned.
+     * Retrieves the users with the given IDs using a single query.
+     * IDs of users that do not exist are ignored.
      *
-     * @param email The email of the user to be searched
-     * @return An {@link Optional} containing the located user, or {@link Optional#empty()} if not found
+     * @param userIds ids of the users to be searched
+     * @return The located users, in no particular order
      */
-    List<User> getUserByEmail(String email);
+    List<User> getUsers(Collection<Long> userIds);
 
     /**
-     * Retrieves all users.
+     * Retrieves a page of users, ordered by ID.
      *
-     * @return An {@link Optional} containing the all users,
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page
+     * @param size   the requested page size
+     * @return A {@link CursorPage} containing the users of the page
      */
-    List<User> findAllUsers();
+    CursorPage<User> findUsers(@Nullable String cursor, int size);
 
 }
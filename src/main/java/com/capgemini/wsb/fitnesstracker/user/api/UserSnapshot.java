@@ -0,0 +1,39 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+import java.time.LocalDate;
+
+/**
+ * An immutable copy of the state of a {@link User} at a given moment.
+ *
+ * @param id the ID of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param birthdate the birthdate of the user.
+ * @param email the email of the user.
+ * @param version the version of the user.
+ */
+public record UserSnapshot(
+        Long id,
+        String firstName,
+        String lastName,
+        LocalDate birthdate,
+        String email,
+        long version
+) {
+
+    /**
+     * Takes a snapshot of the current state of the given user.
+     *
+     * @param user the user to take the snapshot of.
+     * @return the snapshot of the user.
+     */
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getBirthdate(),
+                user.getEmail(),
+                user.getVersion());
+    }
+}
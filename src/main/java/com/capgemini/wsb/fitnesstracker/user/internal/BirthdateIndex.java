@@ -0,0 +1,136 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.paging.api.PageCursor;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of users sorted by birthdate, answering older-than range queries and age distributions.
+ *
+ * <p>Users are kept ordered by birthdate and ID, which is also the keyset of the older-than pagination. Next to them,
+ * the number of users born on each day is kept, so age buckets are counted from at most one entry per distinct
+ * birthdate, without touching the users themselves.</p>
+ */
+@Component
+class BirthdateIndex implements UserIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Key, UserOlderThanDto> users = new TreeMap<>();
+    private final NavigableMap<LocalDate, Integer> usersPerBirthdate = new TreeMap<>();
+
+    @Override
+    public void update(@Nullable UserSnapshot previous, @Nullable UserSnapshot current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null && users.remove(new Key(previous.birthdate(), previous.id())) != null) {
+                usersPerBirthdate.computeIfPresent(previous.birthdate(), (birthdate, count) -> count == 1 ? null : count - 1);
+            }
+            if (current != null) {
+                users.put(new Key(current.birthdate(), current.id()),
+                        new UserOlderThanDto(current.firstName(), current.lastName(), current.birthdate()));
+                usersPerBirthdate.merge(current.birthdate(), 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            users.clear();
+            usersPerBirthdate.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a page of users born before the given date, ordered by birthdate and ID.
+     *
+     * @param date the date to compare against.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the page size.
+     * @return a page of users born before the given date.
+     */
+    CursorPage<UserOlderThanDto> findBornBefore(LocalDate date, @Nullable String cursor, int size) {
+        Key from = cursor == null ? null : Key.of(PageCursor.decode(cursor, 2));
+        lock.readLock().lock();
+        try {
+            NavigableMap<Key, UserOlderThanDto> bornBefore = users.headMap(new Key(date, Long.MIN_VALUE), false);
+            NavigableMap<Key, UserOlderThanDto> range = from == null ? bornBefore : bornBefore.tailMap(from, false);
+
+            List<Key> keys = new ArrayList<>(size + 1);
+            for (Key key : range.keySet()) {
+                if (keys.size() > size) {
+                    break;
+                }
+                keys.add(key);
+            }
+            return CursorPage.of(keys, size, Key::toCursor).map(users::get);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts users per age bucket, from the bucket of age {@code 0} up to the bucket of the oldest user.
+     * Users born after the given day are not counted.
+     *
+     * @param today the day the ages are calculated at.
+     * @param bucketSize the number of years covered by a single bucket.
+     * @return the number of users in each bucket, in ascending age order.
+     */
+    List<AgeBucketDto> ageDistribution(LocalDate today, int bucketSize) {
+        lock.readLock().lock();
+        try {
+            List<AgeBucketDto> buckets = new ArrayList<>();
+            if (usersPerBirthdate.isEmpty() || usersPerBirthdate.firstKey().isAfter(today)) {
+                return buckets;
+            }
+            LocalDate oldest = usersPerBirthdate.firstKey();
+            for (int fromAge = 0; !today.minusYears(fromAge).isBefore(oldest); fromAge += bucketSize) {
+                int toAge = fromAge + bucketSize;
+                long count = usersPerBirthdate
+                        .subMap(today.minusYears(toAge), false, today.minusYears(fromAge), true)
+                        .values().stream()
+                        .mapToLong(Integer::longValue)
+                        .sum();
+                buckets.add(new AgeBucketDto(fromAge, toAge, count));
+            }
+            return buckets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Key(LocalDate birthdate, long userId) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::birthdate).thenComparingLong(Key::userId);
+
+        static Key of(long[] cursor) {
+            return new Key(LocalDate.ofEpochDay(cursor[0]), cursor[1]);
+        }
+
+        String toCursor() {
+            return PageCursor.encode(birthdate.toEpochDay(), userId);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.paging.api.PageCursor;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory n-gram inverted index of lower-cased user emails, answering case-insensitive substring searches.
+ *
+ * <p>Every substring of up to {@value #GRAM_LENGTH} characters of an email is mapped to the IDs of the users whose
+ * email contains it. Queries up to that length are answered by a single lookup. Longer queries intersect the posting
+ * lists of their trigrams, starting from the shortest one, and verify the remaining candidates, so the cost depends
+ * on the selectivity of the query rather than on the number of users. Results are paginated by user ID, so even
+ * a query matching every user, like {@code "@"}, reads no more than a page of it.</p>
+ */
+@Component
+class EmailTrigramIndex implements UserIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final Map<Long, IndexedEmail> emails = new HashMap<>();
+
+    @Override
+    public void update(@Nullable UserSnapshot previous, @Nullable UserSnapshot current) {
+        if (previous != null && current != null && Objects.equals(previous.email(), current.email())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                IndexedEmail removed = emails.remove(previous.id());
+                if (removed != null) {
+                    grams(removed.lowerCase()).forEach(gram -> removePosting(gram, previous.id()));
+                }
+            }
+            if (current != null) {
+                IndexedEmail added = new IndexedEmail(current.id(), current.email(), current.email().toLowerCase(Locale.ROOT));
+                emails.put(current.id(), added);
+                grams(added.lowerCase()).forEach(gram -> postings.computeIfAbsent(gram, key -> new TreeSet<>()).add(current.id()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            emails.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a page of users whose email contains the given value, ignoring case, ordered by ID.
+     *
+     * <p>Posting lists are kept sorted by user ID, so a page is read from the shortest posting list of the query
+     * starting right after the cursor, and the lookup stops as soon as the page is full.</p>
+     *
+     * @param query the partial or full email to search for.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the page size.
+     * @return a page of the ID and email of the matching users.
+     * @throws BusinessException if the query is empty.
+     */
+    CursorPage<UserEmailDto> search(String query, @Nullable String cursor, int size) {
+        if (query.isEmpty()) {
+            throw new BusinessException("Email query must not be empty");
+        }
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        long afterId = cursor == null ? 0L : PageCursor.decode(cursor, 1)[0];
+        lock.readLock().lock();
+        try {
+            List<NavigableSet<Long>> lists = postingLists(lowerCaseQuery);
+            List<UserEmailDto> rows = new ArrayList<>(size + 1);
+            if (lists.isEmpty()) {
+                return CursorPage.of(rows, size, user -> PageCursor.encode(user.id()));
+            }
+            for (Long userId : lists.get(0).tailSet(afterId, false)) {
+                if (rows.size() > size) {
+                    break;
+                }
+                IndexedEmail email = emails.get(userId);
+                if (lists.stream().allMatch(list -> list.contains(userId)) && email.lowerCase().contains(lowerCaseQuery)) {
+                    rows.add(new UserEmailDto(email.userId(), email.email()));
+                }
+            }
+            return CursorPage.of(rows, size, user -> PageCursor.encode(user.id()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists a matching email must be on, the shortest one first, or none if any of them is missing.
+     */
+    private List<NavigableSet<Long>> postingLists(String lowerCaseQuery) {
+        Set<String> grams = lowerCaseQuery.length() <= GRAM_LENGTH ? Set.of(lowerCaseQuery) : trigrams(lowerCaseQuery);
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            NavigableSet<Long> list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        return lists;
+    }
+
+    private void removePosting(String gram, Long userId) {
+        NavigableSet<Long> list = postings.get(gram);
+        if (list != null && list.remove(userId) && list.isEmpty()) {
+            postings.remove(gram);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int start = 0; start + length <= value.length(); start++) {
+                grams.add(value.substring(start, start + length));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= value.length(); start++) {
+            trigrams.add(value.substring(start, start + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private record IndexedEmail(Long userId, String email, String lowerCase) {
+    }
+}
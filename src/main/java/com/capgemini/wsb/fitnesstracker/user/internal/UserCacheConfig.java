@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configures the bounded, in-process cache of user snapshots read by {@link UserServiceImpl#getUser(Long)}.
+ *
+ * <p>The cache is transaction aware: entries are put or evicted only after the surrounding transaction commits,
+ * so a rolled back change never becomes visible through the cache. A cached snapshot is only ever replaced by
+the same or a newer version of the user, see {@link UserSnapshotCache}. Statistics are recorded, so hits, misses and
+ * evictions are published as the {@code cache.*} metrics of the actuator.</p>
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(UserCacheProperties.class)
+class UserCacheConfig {
+
+    /**
+     * Name of the cache of users, keyed by user ID.
+     */
+    static final String USERS_CACHE = "users";
+
+    @Bean
+    public CacheManager cacheManager(UserCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new UserSnapshotCache(name, cache);
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats());
+        cacheManager.setCacheNames(List.of(USERS_CACHE));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process cache of users, see {@link UserCacheConfig}.
+ */
+@ConfigurationProperties(prefix = "user.cache")
+@Getter
+class UserCacheProperties {
+
+    /**
+     * Maximum number of cached users, the least recently used ones are evicted above it.
+     */
+    private final long maximumSize;
+
+    /**
+     * Time after which a cached user is evicted, bounding the staleness of users modified outside the service.
+     */
+    private final Duration timeToLive;
+
+    UserCacheProperties(@DefaultValue("10000") long maximumSize, @DefaultValue("10m") Duration timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+}
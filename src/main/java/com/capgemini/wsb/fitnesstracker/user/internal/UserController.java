@@ -1,19 +1,28 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.etag.api.ETags;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 /**
  * Controller that manages endpoints for user-related operations.
@@ -27,44 +36,58 @@ class UserController {
 
     private final UserMapper userMapper;
 
+    private final UserCsvImporter userCsvImporter;
+
     /**
-     * Retrieves all users with detailed information.
+     * Retrieves a page of users with detailed information, ordered by ID.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
      *
-     * @return a list of UserDto containing full details of each user.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of UserDto containing full details of each user.
      */
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.findAllUsers()
-                          .stream()
+    public ResponseEntity<List<UserDto>> getAllUsers(
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return userService.findUsers(cursor, size)
                           .map(userMapper::toDto)
-                          .toList();
+                          .toResponseEntity();
     }
 
     /**
-     * Retrieves a simplified list of users, including only ID, first name, and last name.
+     * Retrieves a simplified page of users, including only ID, first name, and last name, ordered by ID.
+     * Only these columns are selected, without loading the user entities.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
      *
-     * @return a list of SimpleUserDto with basic user details.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of SimpleUserDto with basic user details.
      */
     @GetMapping("/simple")
-    public List<SimpleUserDto> getSimpleUsers() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toSimpleDto)
-                .toList();
+    public ResponseEntity<List<SimpleUserDto>> getSimpleUsers(
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return userService.findSimpleUsers(cursor, size)
+                .toResponseEntity();
     }
 
     /**
-     * Retrieves detailed information for a specific user by ID.
+     * Retrieves detailed information for a specific user by ID, tagged with the version of the user.
+     * A request whose {@code If-None-Match} header matches the current version is answered with 304 Not Modified
+     * after looking up only the version of the user.
      *
      * @param id the unique identifier of the user.
-     * @return a ResponseEntity containing UserDto if the user is found, or 404 Not Found otherwise.
+     * @param request the current request.
+     * @return a ResponseEntity containing UserDto if the user is found, 304 Not Modified if the user is unchanged,
+     *         or 404 Not Found otherwise.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        return userService.getUser(id)
-                .map(userMapper::toDto)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id, WebRequest request) {
+        return ETags.<UserDto>notModified(request, () -> userService.getUserVersion(id).map(ETags::of))
+                .orElseGet(() -> userService.getUser(id)
+                        .map(user -> ResponseEntity.ok().eTag(ETags.of(user.version())).body(userMapper.toDto(user)))
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
 
@@ -76,7 +99,6 @@ class UserController {
      */
     @PostMapping
     public ResponseEntity<UserDto> addUser(@RequestBody UserDto userDto) {
-        System.out.println("User with e-mail: " + userDto.email() + " passed to the request");
         User user = userMapper.toEntity(userDto);
         User savedUser = userService.createUser(user);
         UserDto savedUserDto = userMapper.toDto(savedUser);
@@ -86,6 +108,20 @@ class UserController {
                 .body(savedUserDto);
     }
 
+    /**
+     * Imports users from a CSV file streamed in the request body, e.g. when onboarding a partner gym.
+     * The file is parsed and imported chunk by chunk, see {@link UserCsvImporter} for the expected format.
+     * Invalid rows and rows with an already taken email are skipped and reported.
+     *
+     * @param csv the UTF-8 encoded CSV file.
+     * @return a ResponseEntity containing the numbers of imported and failed rows, with the errors of the failed rows.
+     * @throws IOException if reading the request body fails.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<UserImportReportDto> importUsers(InputStream csv) throws IOException {
+        return ResponseEntity.ok(userCsvImporter.importUsers(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    }
+
     /**
      * Deletes a user by their unique ID. If the user has associated records that prevent deletion,
      * or if the user does not exist, an appropriate HTTP status and message are returned.
@@ -118,37 +154,51 @@ class UserController {
 
     /**
      * Searches for users by a partial email match, ignoring case sensitivity.
-     * Returns a list of users matching the specified email criteria, containing only the ID and email fields.
+     * Returns a page of users matching the specified email criteria, ordered by ID, containing only the ID and email fields.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
      *
-     * @param email the partial or full email string to search for, case-insensitively.
-     * @return a ResponseEntity containing a list of UserEmailDto with HTTP status 200 (OK).
+     * @param email the partial or full email string to search for, case-insensitively, must not be empty.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a ResponseEntity containing a page of UserEmailDto with HTTP status 200 (OK).
      *         If no users match, an empty list is returned.
      */
     @GetMapping("/email")
-    public ResponseEntity<List<UserEmailDto>> getUsersByEmail(@RequestParam String email) {
-        List<UserEmailDto> users = userService.getUserByEmail(email)
-                .stream()
-                .map(user -> new UserEmailDto(user.getId(), user.getEmail()))
-                .toList();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserEmailDto>> getUsersByEmail(
+            @RequestParam String email,
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return userService.getUserByEmail(email, cursor, size)
+                .toResponseEntity();
     }
 
     /**
-     * Retrieves all users who are older than the specified date.
+     * Retrieves a page of users who are older than the specified date, ordered by birthdate and ID.
+     * The cursor of the next page, if any, is returned in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
      *
      * @param date the date to compare against.
-     * @return a list of users older than the specified date, with limited user details.
+     * @param cursor the cursor of the page to retrieve, omitted for the first page.
+     * @param size the requested page size, capped to {@value CursorPage#MAX_SIZE}.
+     * @return a page of users older than the specified date, with limited user details.
      */
     @GetMapping("/older/{time}")
     public ResponseEntity<List<UserOlderThanDto>> getAllUsersOlderThan(
-            @PathVariable("time") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-
-        List<UserOlderThanDto> users = userService.findAllUsersOlderThan(date)
-                .stream()
-                .map(userMapper::toOlderThanDto)
-                .collect(Collectors.toList());
+            @PathVariable("time") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @Nullable String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return userService.findAllUsersOlderThan(date, cursor, size)
+                .toResponseEntity();
+    }
 
-        return ResponseEntity.ok(users);
+    /**
+     * Retrieves the number of users per age bucket, as of today, without listing the users.
+     *
+     * @param bucketSize the number of years covered by a single bucket.
+     * @return the number of users in each bucket, in ascending age order, up to the bucket of the oldest user.
+     */
+    @GetMapping("/age-distribution")
+    public ResponseEntity<List<AgeBucketDto>> getAgeDistribution(@RequestParam(defaultValue = "10") int bucketSize) {
+        return ResponseEntity.ok(userService.getAgeDistribution(bucketSize));
     }
 
     /**
@@ -164,7 +214,7 @@ class UserController {
             @RequestBody UserDto userDto) {
 
         User updatedUser = userMapper.toEntity(userDto);
-        User savedUser = userService.updateUserById(id, updatedUser);
+        UserSnapshot savedUser = userService.updateUserById(id, updatedUser);
         UserDto savedUserDto = userMapper.toDto(savedUser);
 
         return ResponseEntity.ok(savedUserDto);
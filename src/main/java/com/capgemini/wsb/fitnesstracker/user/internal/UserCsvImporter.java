@@ -0,0 +1,242 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports users from a CSV file.
+ *
+ * <p>The file starts with a header naming the {@value #FIRST_NAME}, {@value #LAST_NAME}, {@value #BIRTHDATE}
+ * (ISO date) and {@value #EMAIL} columns, in any order. Fields may be enclosed in double quotes, but may not span
+ * multiple lines.</p>
+ *
+ * <p>The file is parsed line by line, and the rows are imported in chunks of {@value #CHUNK_SIZE}, each chunk in its
+ * own transaction: the emails of the whole chunk are checked against the existing users by a single query, and the
+ * new users are inserted in JDBC batches. Only the current chunk is held in memory, whatever the size of the file.
+ * Invalid rows and rows with an email that is already taken are reported and skipped.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class UserCsvImporter {
+
+    /**
+     * Maximum number of row errors included in the {@link UserImportReportDto}; further errors are only counted.
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String BIRTHDATE = "birthdate";
+    private static final String EMAIL = "email";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Imports the users of the CSV file.
+     *
+     * @param csv the content of the file.
+     * @return the numbers of imported and failed rows, with the errors of the failed rows.
+     * @throws BusinessException if the file has no header or the header lacks any of the columns.
+     * @throws IOException if reading the file fails.
+     */
+    public UserImportReportDto importUsers(Reader csv) throws IOException {
+        BufferedReader reader = new BufferedReader(csv);
+        Map<String, Integer> columns = parseHeader(reader.readLine());
+
+        ImportProgress progress = new ImportProgress();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Row(lineNumber, parseLine(line)));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, columns, progress);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, columns, progress);
+
+        log.info("Imported {} users, {} rows failed", progress.imported, progress.failed);
+        return new UserImportReportDto(progress.imported, progress.failed, progress.errors);
+    }
+
+    private void importChunk(List<Row> rows, Map<String, Integer> columns, ImportProgress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<UserImportReportDto.RowError> errors = new ArrayList<>();
+        List<User> users = new ArrayList<>(rows.size());
+        List<Row> userRows = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                users.add(row.toUser(columns));
+                userRows.add(row);
+            } catch (RowException e) {
+                errors.add(new UserImportReportDto.RowError(row.lineNumber(), e.getMessage()));
+            }
+        }
+
+        List<UserImportReportDto.RowError> takenEmailErrors = new ArrayList<>();
+        try {
+            Integer imported = transactionTemplate.execute(status -> {
+                Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                        users.stream().map(User::getEmail).collect(Collectors.toSet())));
+                Session session = entityManager.unwrap(Session.class);
+                session.setJdbcBatchSize(CHUNK_SIZE);
+                int persisted = 0;
+                for (int i = 0; i < users.size(); i++) {
+                    User user = users.get(i);
+                    if (!takenEmails.add(user.getEmail())) {
+                        takenEmailErrors.add(new UserImportReportDto.RowError(
+                                userRows.get(i).lineNumber(), "Email " + user.getEmail() + " is already taken"));
+                        continue;
+                    }
+                    session.persist(user);
+                    persisted++;
+                }
+                session.flush();
+                session.clear();
+                return persisted;
+            });
+            progress.imported += imported;
+            errors.addAll(takenEmailErrors);
+        } catch (DataAccessException | PersistenceException e) {
+            // E.g. an email taken concurrently or a value too long for its column, the whole chunk is rolled back.
+            // Persisting through the session directly throws Hibernate exceptions, not translated by Spring.
+            log.warn("Importing users of lines {}-{} failed", rows.get(0).lineNumber(), rows.get(rows.size() - 1).lineNumber(), e);
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            userRows.forEach(row -> errors.add(new UserImportReportDto.RowError(
+                    row.lineNumber(), "Chunk could not be saved: " + cause)));
+        }
+        errors.sort(Comparator.comparingLong(UserImportReportDto.RowError::line));
+        errors.forEach(progress::fail);
+    }
+
+    private static Map<String, Integer> parseHeader(@Nullable String header) {
+        if (header == null) {
+            throw new BusinessException("CSV file is empty");
+        }
+        List<String> names = parseLine(header);
+        Map<String, Integer> columns = IntStream.range(0, names.size())
+                .boxed()
+                .collect(Collectors.toMap(i -> names.get(i).strip(), Function.identity(), (first, second) -> first));
+        for (String column : List.of(FIRST_NAME, LAST_NAME, BIRTHDATE, EMAIL)) {
+            if (!columns.containsKey(column)) {
+                throw new BusinessException("CSV header lacks the " + column + " column");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a CSV line into fields, unquoting fields enclosed in double quotes.
+     */
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long lineNumber, List<String> fields) {
+
+        User toUser(Map<String, Integer> columns) {
+            String email = field(columns, EMAIL);
+            if (!email.contains("@")) {
+                throw new RowException("Invalid email " + email);
+            }
+            LocalDate birthdate;
+            try {
+                birthdate = LocalDate.parse(field(columns, BIRTHDATE));
+            } catch (DateTimeParseException e) {
+                throw new RowException("Invalid birthdate " + field(columns, BIRTHDATE));
+            }
+            return new User(field(columns, FIRST_NAME), field(columns, LAST_NAME), birthdate, email);
+        }
+
+        private String field(Map<String, Integer> columns, String column) {
+            int index = columns.get(column);
+            String value = index < fields.size() ? fields.get(index).strip() : "";
+            if (value.isEmpty()) {
+                throw new RowException("Missing " + column);
+            }
+            return value;
+        }
+    }
+
+    private static final class RowException extends RuntimeException {
+
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class ImportProgress {
+
+        private long imported;
+        private long failed;
+        private final List<UserImportReportDto.RowError> errors = new ArrayList<>();
+
+        void fail(UserImportReportDto.RowError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.annotation.Nullable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public record UserDto(@Nullable Long id, String firstName, String lastName,
                       @JsonFormat(pattern = "yyyy-MM-dd") LocalDate birthdate,
@@ -36,4 +37,31 @@ record UserEmailDto(Long id, String email) {}
  * @param lastName the last name of the user.
  * @param birthdate the birthdate of the user.
  */
-record UserOlderThanDto(String firstName, String lastName, LocalDate birthdate) {}
\ No newline at end of file
+record UserOlderThanDto(String firstName, String lastName, LocalDate birthdate) {}
+
+/**
+ * A Data Transfer Object representing the number of users within an age range.
+ *
+ * @param fromAge the lower bound of the age range, inclusive.
+ * @param toAge the upper bound of the age range, exclusive.
+ * @param users the number of users within the age range.
+ */
+record AgeBucketDto(int fromAge, int toAge, long users) {}
+
+/**
+ * A Data Transfer Object reporting the outcome of a CSV import of users.
+ *
+ * @param imported the number of imported users.
+ * @param failed the number of rows that could not be imported.
+ * @param errors the errors of the failed rows, in file order, limited to the first {@value UserCsvImporter#MAX_REPORTED_ERRORS}.
+ */
+record UserImportReportDto(long imported, long failed, List<RowError> errors) {
+
+    /**
+     * The error of a single row that could not be imported.
+     *
+     * @param line the line number of the row in the file, starting from 1 for the header.
+     * @param error the reason the row could not be imported.
+     */
+    record RowError(long line, String error) {}
+}
@@ -0,0 +1,24 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.annotation.Nullable;
+
+/**
+ * An in-memory index of users, kept in sync with the users table by {@link UserIndexes}.
+ * Implementations must be safe for concurrent reads and updates.
+ */
+interface UserIndex {
+
+    /**
+     * Applies a change of a single user to the index.
+     *
+     * @param previous the previously indexed state of the user, or {@code null} if the user has just been created.
+     * @param current the current state of the user, or {@code null} if the user has been deleted.
+     */
+    void update(@Nullable UserSnapshot previous, @Nullable UserSnapshot current);
+
+    /**
+     * Removes all users from the index.
+     */
+    void clear();
+}
@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener reporting every insert, update and delete of a {@link User} to the {@link UserIndexes},
+ * whichever code path made the change.
+ *
+ * <p>The listener is registered on the entity in {@code META-INF/orm.xml}, so the public {@link User} does not
+ * reference the user internals.</p>
+ *
+ * <p>The indexes are resolved lazily, as Hibernate creates the listener while the entity manager factory they
+ * depend on is being built.</p>
+ */
+@Component
+@RequiredArgsConstructor
+class UserIndexListener {
+
+    private final ObjectProvider<UserIndexes> userIndexes;
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(User user) {
+        userIndexes.getObject().upsert(UserSnapshot.of(user));
+    }
+
+    @PostRemove
+    void onRemoved(User user) {
+        userIndexes.getObject().remove(user.getId());
+    }
+}
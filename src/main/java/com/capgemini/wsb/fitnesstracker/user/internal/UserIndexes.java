@@ -0,0 +1,115 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps all {@link UserIndex in-memory user indexes} in sync with the users table.
+ *
+ * <p>Changes reported by the {@link UserIndexListener} are buffered per transaction and applied once it commits,
+ * so the indexes only ever show committed users, and a rolled back transaction leaves them untouched. The indexes
+ * are rebuilt from the database once the application is ready.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class UserIndexes {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final List<UserIndex> indexes;
+    private final Map<Long, UserSnapshot> users = new HashMap<>();
+
+    /**
+     * Indexes the current state of a created or updated user.
+     *
+     * @param user the current state of the user.
+     */
+    void upsert(UserSnapshot user) {
+        applyOnCommit(user.id(), user);
+    }
+
+    /**
+     * Removes a deleted user from the indexes.
+     *
+     * @param userId the ID of the deleted user.
+     */
+    void remove(Long userId) {
+        applyOnCommit(userId, null);
+    }
+
+    /**
+     * Rebuilds all indexes from the users table, reading it page by page without loading the user entities.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        users.clear();
+        indexes.forEach(UserIndex::clear);
+
+        Long afterId = 0L;
+        List<UserSnapshot> page;
+        do {
+            page = userRepository.findSnapshotsAfter(afterId, Limit.of(REBUILD_PAGE_SIZE));
+            page.forEach(user -> apply(user.id(), user));
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        log.info("Rebuilt {} user indexes of {} users", indexes.size(), users.size());
+    }
+
+    private void applyOnCommit(Long userId, @Nullable UserSnapshot current) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                apply(userId, current);
+            }
+            return;
+        }
+        PendingChanges pendingChanges = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingChanges.class::isInstance)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    PendingChanges created = new PendingChanges();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        pendingChanges.changes.put(userId, Optional.ofNullable(current));
+    }
+
+    private void apply(Long userId, @Nullable UserSnapshot current) {
+        UserSnapshot previous = current == null ? users.remove(userId) : users.put(userId, current);
+        if (previous != null || current != null) {
+            indexes.forEach(index -> index.update(previous, current));
+        }
+    }
+
+    /**
+     * The latest state of every user changed within a single transaction, applied once the transaction commits.
+     * An empty state stands for a deleted user.
+     */
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Optional<UserSnapshot>> changes = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            synchronized (UserIndexes.this) {
+                changes.forEach((userId, current) -> apply(userId, current.orElse(null)));
+            }
+        }
+    }
+}
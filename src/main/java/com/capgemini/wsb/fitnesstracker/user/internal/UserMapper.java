@@ -1,6 +1,7 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
 import org.springframework.stereotype.Component;
 
 /**
@@ -24,15 +25,17 @@ public class UserMapper {
     }
 
     /**
-     * Converts a User entity to a SimpleUserDto with only basic details.
+     * Converts a snapshot of a User to a UserDto.
      *
-     * @param user the User entity to convert.
-     * @return the converted SimpleUserDto.
+     * @param user the snapshot of the User to convert.
+     * @return the converted UserDto.
      */
-    SimpleUserDto toSimpleDto(User user) {
-        return new SimpleUserDto(user.getId(),
-                user.getFirstName(),
-                user.getLastName());
+    public UserDto toDto(UserSnapshot user) {
+        return new UserDto(user.id(),
+                           user.firstName(),
+                           user.lastName(),
+                           user.birthdate(),
+                           user.email());
     }
 
     /**
@@ -49,15 +52,4 @@ public class UserMapper {
                         userDto.email());
     }
 
-    /**
-     * Converts a User entity to a UserOlderThanDto, containing only basic information
-     * such as first name, last name, and birthdate.
-     *
-     * @param user the User entity to convert.
-     * @return a UserOlderThanDto containing the first name, last name, and birthdate of the user.
-     */
-    UserOlderThanDto toOlderThanDto(User user) {
-        return new UserOlderThanDto(user.getFirstName(), user.getLastName(), user.getBirthdate());
-    }
-
 }
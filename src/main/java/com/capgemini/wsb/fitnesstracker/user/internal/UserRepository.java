@@ -1,29 +1,93 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Finds users whose email contains the specified value, ignoring case.
+     * Finds a page of users with ID greater than the specified one, ordered by ID.
      *
-     * @param email the partial or full email to search for.
-     * @return a list of users matching the partial email.
+     * @param id the ID of the last user of the previous page, or {@code 0} for the first page.
+     * @param limit the maximum number of users to return.
+     * @return the page of users following the given ID.
      */
-    List<User> findByEmailContainingIgnoreCase(String email);
+    List<User> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
     /**
-     * Finds all users born before the specified date.
+     * Finds the ID, first name and last name of a page of users with ID greater than the specified one,
+     * ordered by ID, selecting only these columns instead of loading the user entities.
      *
-     * @param date the date to compare against.
-     * @return a list of users born before the given date.
+     * @param id the ID of the last user of the previous page, or {@code 0} for the first page.
+     * @param limit the maximum number of users to return.
+     * @return the simplified page of users following the given ID.
      */
-    List<User> findByBirthdateBefore(LocalDate date);
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.internal.SimpleUserDto(u.id, u.firstName, u.lastName)
+            FROM User u
+            WHERE u.id > :id
+            ORDER BY u.id""")
+    List<SimpleUserDto> findSimpleUsersAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Finds the version of a user by the primary key, without loading the user entity.
+     *
+     * @param id the ID of the user.
+     * @return the version of the user, or empty if the user does not exist.
+     */
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Locks the row of a user until the end of the current transaction, serializing transactions which create
+     * rows keyed by the user, e.g. the first statistics of the user.
+     *
+     * @param id the ID of the user.
+     * @return the ID of the locked user, or empty if the user does not exist.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Finds IDs of all users, ordered by ID, without loading the user entities.
+     *
+     * @return a list of IDs of all users.
+     */
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    /**
+     * Finds which of the given emails already belong to users, using a single query.
+     *
+     * @param emails the emails to check.
+     * @return the emails of existing users, out of the given ones.
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Finds snapshots of a page of users with ID greater than the specified one, ordered by ID,
+     * without loading the user entities.
+     *
+     * @param id the ID of the last user of the previous page, or {@code 0} for the first page.
+     * @param limit the maximum number of users to return.
+     * @return snapshots of the page of users following the given ID.
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot(u.id, u.firstName, u.lastName, u.birthdate, u.email, u.version)
+            FROM User u
+            WHERE u.id > :id
+            ORDER BY u.id""")
+    List<UserSnapshot> findSnapshotsAfter(@Param("id") Long id, Limit limit);
 }
@@ -1,26 +1,53 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.paging.api.PageCursor;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
 import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
+import static com.capgemini.wsb.fitnesstracker.user.internal.UserCacheConfig.USERS_CACHE;
+
 /**
  * Service implementation for managing user operations.
+ *
+ * <p>Snapshots of users read by ID are cached, see {@link UserCacheConfig}. Updates through this service put
+ * the fresh snapshot of the user into the cache, deletes evict it. Every public method called through the Spring proxy is timed
+ * by the {@value #SERVICE_METER} meter, tagged with the method name and the exception thrown, if any.</p>
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = UserServiceImpl.SERVICE_METER, histogram = true)
 class UserServiceImpl implements UserService, UserProvider {
 
+    /**
+     * Name of the timer of the methods of the service.
+     */
+    static final String SERVICE_METER = "fitnesstracker.users.service";
+
     private final UserRepository userRepository;
+    private final EmailTrigramIndex emailIndex;
+    private final BirthdateIndex birthdateIndex;
+    private final CalendarProperties calendarProperties;
 
     /**
      * Creates and saves a new user in the system.
@@ -31,7 +58,7 @@ class UserServiceImpl implements UserService, UserProvider {
      */
     @Override
     public User createUser(final User user) {
-        log.info("Creating User {}", user);
+        log.debug("Creating user");
         if (user.getId() != null) {
             throw new IllegalArgumentException("User has already DB ID, update is not permitted!");
         }
@@ -39,35 +66,79 @@ class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Finds a user by their unique ID.
+     * Finds a snapshot of a user by their unique ID, serving it from the cache when present.
+     * Absent users are not cached.
      *
      * @param userId the ID of the user to find.
-     * @return an Optional containing the User if found, or empty if not found.
+     * @return an Optional containing the snapshot of the User if found, or empty if not found.
      */
     @Override
-    public Optional<User> getUser(final Long userId) {
-        return userRepository.findById(userId);
+    @Cacheable(cacheNames = USERS_CACHE, key = "#userId", unless = "#result == null")
+    public Optional<UserSnapshot> getUser(final Long userId) {
+        return userRepository.findById(userId).map(UserSnapshot::of);
+    }
+
+    @Override
+    public User getUserReference(final Long userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     /**
-     * Finds users by email, allowing for case-insensitive and partial matches.
+     * Finds the version of a user by their unique ID with a single primary key lookup, without loading the user.
      *
-     * @param email the partial or full email to search for.
-     * @return a list of users whose email contains the specified value, case-insensitively.
+     * @param userId the ID of the user.
+     * @return an Optional containing the version of the user, or empty if not found.
      */
+    public Optional<Long> getUserVersion(final Long userId) {
+        return userRepository.findVersionById(userId);
+    }
+
     @Override
-    public List<User> getUserByEmail(String email) {
-        return userRepository.findByEmailContainingIgnoreCase(email);
+    public List<User> getUsers(Collection<Long> userIds) {
+        return userRepository.findAllById(userIds);
     }
 
     /**
-     * Finds all users in the system.
+     * Finds a page of users by email, allowing for case-insensitive and partial matches, ordered by ID.
+     * Answered from the in-memory {@link EmailTrigramIndex}, without querying the database.
      *
-     * @return a list of all User entities.
+     * @param email the partial or full email to search for.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of the ID and email of users whose email contains the specified value, case-insensitively.
+     */
+    public CursorPage<UserEmailDto> getUserByEmail(String email, @Nullable String cursor, int size) {
+        return emailIndex.search(email, cursor, CursorPage.boundedSize(size));
+    }
+
+    /**
+     * Finds a page of users in the system, ordered by ID.
+     *
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of User entities.
      */
     @Override
-    public List<User> findAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<User> findUsers(@Nullable String cursor, int size) {
+        int pageSize = CursorPage.boundedSize(size);
+        Long afterId = cursor == null ? 0L : PageCursor.decode(cursor, 1)[0];
+        List<User> rows = userRepository.findAllByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> PageCursor.encode(user.getId()));
+    }
+
+    /**
+     * Finds a simplified page of users in the system, ordered by ID, selecting only the listed columns
+     * without loading the user entities.
+     *
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of users with their ID, first name and last name.
+     */
+    public CursorPage<SimpleUserDto> findSimpleUsers(@Nullable String cursor, int size) {
+        int pageSize = CursorPage.boundedSize(size);
+        Long afterId = cursor == null ? 0L : PageCursor.decode(cursor, 1)[0];
+        List<SimpleUserDto> rows = userRepository.findSimpleUsersAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> PageCursor.encode(user.id()));
     }
 
     /**
@@ -79,6 +150,7 @@ class UserServiceImpl implements UserService, UserProvider {
      * @throws IllegalStateException if the user has associated records that prevent deletion,
      *         for instance due to foreign key constraints in related tables.
      */
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     public void deleteUserById(Long id) {
         if (!userRepository.existsById(id)) {
             throw new NoSuchElementException("User with ID " + id + " not found.");
@@ -92,13 +164,30 @@ class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Finds all users who are older than the specified date.
+     * Finds a page of users who are older than the specified date, ordered by birthdate and ID.
+     * Answered from the in-memory {@link BirthdateIndex}, without querying the database.
      *
      * @param date the date to compare against.
-     * @return a list of users born before the given date.
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page.
+     * @param size the requested page size.
+     * @return a page of users born before the given date.
      */
-    public List<User> findAllUsersOlderThan(LocalDate date) {
-        return userRepository.findByBirthdateBefore(date);
+    public CursorPage<UserOlderThanDto> findAllUsersOlderThan(LocalDate date, @Nullable String cursor, int size) {
+        return birthdateIndex.findBornBefore(date, cursor, CursorPage.boundedSize(size));
+    }
+
+    /**
+     * Counts users per age bucket, as of today in the configured time zone, from the in-memory {@link BirthdateIndex}.
+     *
+     * @param bucketSize the number of years covered by a single bucket.
+     * @return the number of users in each bucket, in ascending age order.
+     * @throws BusinessException if the bucket size is not positive.
+     */
+    public List<AgeBucketDto> getAgeDistribution(int bucketSize) {
+        if (bucketSize < 1) {
+            throw new BusinessException("Age bucket size must be positive, but was " + bucketSize);
+        }
+        return birthdateIndex.ageDistribution(LocalDate.now(calendarProperties.getZone()), bucketSize);
     }
 
     /**
@@ -106,10 +195,11 @@ class UserServiceImpl implements UserService, UserProvider {
      *
      * @param id the unique ID of the user to update.
      * @param updatedUser the new user details, where fields can be null to indicate no update.
-     * @return the updated user.
+     * @return the snapshot of the updated user, with its incremented version, also put into the cache.
      * @throws NoSuchElementException if the user does not exist.
      */
-    public User updateUserById(Long id, User updatedUser) {
+    @CachePut(cacheNames = USERS_CACHE, key = "#id")
+    public UserSnapshot updateUserById(Long id, User updatedUser) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("User with ID " + id + " not found."));
 
@@ -126,6 +216,6 @@ class UserServiceImpl implements UserService, UserProvider {
             existingUser.setEmail(updatedUser.getEmail());
         }
 
-        return userRepository.save(existingUser);
+        return UserSnapshot.of(userRepository.saveAndFlush(existingUser));
     }
 }
\ No newline at end of file
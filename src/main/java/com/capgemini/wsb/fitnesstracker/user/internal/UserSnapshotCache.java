@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.Nullable;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache of user snapshots that never replaces a cached snapshot with an older version of the same user.
+ *
+ * <p>A reader missing the cache may load a user right before an update commits and put the loaded snapshot only
+ * after the update has put the fresh one. Comparing the versions keeps the fresh snapshot in that case, instead of
+ * serving the stale one until it expires.</p>
+ */
+class UserSnapshotCache extends CaffeineCache {
+
+    UserSnapshotCache(String name, Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (!(value instanceof UserSnapshot snapshot)) {
+            super.put(key, value);
+            return;
+        }
+        getNativeCache().asMap().merge(key, snapshot, (cached, fresh) ->
+                cached instanceof UserSnapshot cachedSnapshot && cachedSnapshot.version() > snapshot.version() ? cached : fresh);
+    }
+}
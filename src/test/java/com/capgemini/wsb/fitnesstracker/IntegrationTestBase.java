@@ -1,18 +1,26 @@
 package com.capgemini.wsb.fitnesstracker;
 
+import com.capgemini.wsb.fitnesstracker.achievement.internal.AchievementCounter;
+import com.capgemini.wsb.fitnesstracker.achievement.internal.UserAchievement;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxEmail;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.DailyTrainingRollup;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.Before;
 import org.junit.jupiter.api.AfterEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(SqlStatementsTestConfiguration.class)
 public abstract class IntegrationTestBase {
 
     @Autowired
@@ -21,15 +29,43 @@ public abstract class IntegrationTestBase {
     @Autowired
     private JpaRepository<Training, Long> trainingRepository;
 
+    @Autowired
+    private JpaRepository<Statistics, Long> statisticsRepository;
+
+    @Autowired
+    private JpaRepository<DailyTrainingRollup, Long> dailyTrainingRollupRepository;
+
+    @Autowired
+    private JpaRepository<AchievementCounter, Long> achievementCounterRepository;
+
+    @Autowired
+    private JpaRepository<UserAchievement, Long> userAchievementRepository;
+
+    @Autowired
+    private JpaRepository<OutboxEmail, Long> outboxEmailRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SqlStatements sqlStatements;
+
     @AfterEach
     void cleanUpDB() {
+        statisticsRepository.deleteAll();
+        dailyTrainingRollupRepository.deleteAll();
         trainingRepository.deleteAll();
+        achievementCounterRepository.deleteAll();
+        userAchievementRepository.deleteAll();
         userRepository.deleteAll();
+        outboxEmailRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
 
     }
 
     @Before
     public void setUp() {
+        statisticsRepository.deleteAll();
         trainingRepository.deleteAll();
         userRepository.deleteAll();
 
@@ -41,7 +77,7 @@ public abstract class IntegrationTestBase {
 
     protected User existingUser(User user) {
 
-        return userRepository.save(user);
+        return userRepository.saveAndFlush(user);
     }
 
     protected List<User> getAllUsers() {
@@ -54,6 +90,17 @@ public abstract class IntegrationTestBase {
         return trainings;
     }
 
+    /**
+     * Runs the call, e.g. a request to an endpoint, and records the SQL statements it executed, see {@link SqlStatements}.
+     *
+     * @param call the call to be recorded.
+     * @return the recorded statements, with assertions of their number per kind.
+     * @throws Exception if the call fails.
+     */
+    protected SqlStatements.Recorded recordStatements(SqlStatements.Call call) throws Exception {
+        return sqlStatements.record(call);
+    }
+
     protected List<Training> getAllTrainings() {
         return trainingRepository.findAll();
     }
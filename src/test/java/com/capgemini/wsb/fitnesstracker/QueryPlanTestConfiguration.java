@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Test configuration registering the {@link QueryPlans} helper, together with the Hibernate statement inspector
+ * it uses to capture the SQL issued by repositories.
+ */
+@TestConfiguration
+public class QueryPlanTestConfiguration {
+
+    private final QueryPlans.CapturingStatementInspector statementInspector = new QueryPlans.CapturingStatementInspector();
+
+    @Bean
+    HibernatePropertiesCustomizer capturingStatementInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+    }
+
+    @Bean
+    QueryPlans queryPlans(JdbcTemplate jdbcTemplate) {
+        return new QueryPlans(statementInspector, jdbcTemplate);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the SQL queries issued by a repository call and explains them with the H2 {@code EXPLAIN} command.
+ * H2 marks a full table scan as {@code tableScan} in the plan, while an index access names the used index.
+ */
+@RequiredArgsConstructor
+public class QueryPlans {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    private final CapturingStatementInspector statementInspector;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the given repository call and returns the H2 execution plans of all select queries it issued.
+     *
+     * @param repositoryCall the repository call to be explained.
+     * @return plans of the issued select queries, in execution order.
+     */
+    public List<String> explain(Runnable repositoryCall) {
+        statementInspector.clear();
+        repositoryCall.run();
+
+        List<String> plans = statementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+                .map(this::explain)
+                .toList();
+        assertThat(plans).as("select queries issued by the repository call").isNotEmpty();
+        return plans;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(
+                connection -> connection.prepareStatement("EXPLAIN " + sql),
+                (resultSet, rowNum) -> resultSet.getString(1)
+        ).get(0);
+    }
+
+    /**
+     * Asserts that none of the select queries issued by the given repository call scans a whole table.
+     *
+     * @param repositoryCall the repository call to be verified.
+     */
+    public void assertNoTableScan(Runnable repositoryCall) {
+        explain(repositoryCall).forEach(plan -> assertThat(plan)
+                .as("execution plan")
+                .doesNotContain(TABLE_SCAN));
+    }
+
+    /**
+     * Hibernate statement inspector recording all SQL statements prepared by Hibernate.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+}
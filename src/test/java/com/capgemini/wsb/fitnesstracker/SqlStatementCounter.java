@@ -0,0 +1,103 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import jakarta.annotation.Nullable;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Data source recording every SQL statement executed through it by the capturing thread, see {@link SqlStatements}.
+ *
+ * <p>Statements are recorded at the JDBC level when executed, so queries issued by Hibernate, Spring Data, native
+ * queries and {@code JdbcTemplate} are all counted, and an executed JDBC batch counts as a single statement, as it is
+ * a single round trip to the database. Only statements of the thread that started the capture are recorded, so
+ * background jobs polling the database (e.g. the email outbox) do not disturb the counts.</p>
+ */
+class SqlStatementCounter extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Nullable
+    private volatile Thread capturingThread;
+
+    SqlStatementCounter(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Starts recording the statements of the current thread, forgetting the previously recorded ones.
+     */
+    void start() {
+        statements.clear();
+        capturingThread = Thread.currentThread();
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the statements recorded since {@link #start()}, in execution order.
+     */
+    List<String> stop() {
+        capturingThread = null;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, (Statement) result, statementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result, statementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result, statementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        });
+    }
+
+    private InvocationHandler statementHandler(Statement statement, @Nullable String preparedSql) {
+        return (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName()) && Thread.currentThread() == capturingThread) {
+                statements.add(args != null && args.length > 0 && args[0] instanceof String sql ? sql : String.valueOf(preparedSql));
+            }
+            return invoke(statement, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, @Nullable Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,136 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL statements executed by a call, e.g. a request to an endpoint, so tests can assert the exact number
+ * and kind of statements it issues and catch N+1 regressions. Recorded by the {@link SqlStatementCounter}.
+ */
+@RequiredArgsConstructor
+public class SqlStatements {
+
+    private final SqlStatementCounter counter;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Runs the call and records the statements it executed on the current thread.
+     *
+     * <p>Within a test transaction, the pending changes of the test are flushed and the persistence context is
+     * cleared first, so the call neither flushes the changes of the test nor reads entities already loaded by it.
+     * The changes of the call are flushed before the recording stops, as they would be once its transaction commits.</p>
+     *
+     * @param call the call to be recorded.
+     * @return the recorded statements.
+     * @throws Exception if the call fails.
+     */
+    public Recorded record(Call call) throws Exception {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        counter.start();
+        try {
+            call.run();
+            if (inTransaction) {
+                entityManager.flush();
+            }
+        } catch (Exception e) {
+            counter.stop();
+            throw e;
+        }
+        return new Recorded(counter.stop());
+    }
+
+    /**
+     * A call whose statements are recorded.
+     */
+    @FunctionalInterface
+    public interface Call {
+
+        void run() throws Exception;
+    }
+
+    /**
+     * Statements executed by a call, with fluent assertions of their number per kind. Fetching the next values
+     * of ID sequences happens once per allocated block of IDs, so it is never counted as a select.
+     */
+    public static final class Recorded {
+
+        private final List<String> statements;
+
+        private Recorded(List<String> statements) {
+            this.statements = statements;
+        }
+
+        /**
+         * Returns the recorded statements.
+         *
+         * @return the statements, in execution order.
+         */
+        public List<String> statements() {
+            return statements;
+        }
+
+        public Recorded hasSelects(int expected) {
+            return hasStatements("select", expected);
+        }
+
+        public Recorded hasInserts(int expected) {
+            return hasStatements("insert", expected);
+        }
+
+        public Recorded hasUpdates(int expected) {
+            return hasStatements("update", expected);
+        }
+
+        public Recorded hasDeletes(int expected) {
+            return hasStatements("delete", expected);
+        }
+
+        /**
+         * Asserts that no statement other than a select was executed.
+         *
+         * @return this.
+         */
+        public Recorded hasNoWrites() {
+            return hasStatements("insert", 0).hasStatements("update", 0).hasStatements("delete", 0)
+                    .hasStatements("merge", 0);
+        }
+
+        /**
+         * Asserts the total number of executed statements of any kind.
+         *
+         * @param expected the expected number of statements.
+         * @return this.
+         */
+        public Recorded hasTotal(int expected) {
+            assertThat(statements).as("all executed statements").hasSize(expected);
+            return this;
+        }
+
+        private Recorded hasStatements(String kind, int expected) {
+            assertThat(statements.stream().filter(sql -> kind.equals(kindOf(sql))).count())
+                    .as("%s statements among the executed statements:%n%s", kind, String.join(System.lineSeparator(), statements))
+                    .isEqualTo(expected);
+            return this;
+        }
+
+        private static String kindOf(String sql) {
+            String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (normalized.contains("next value for")) {
+                return "sequence";
+            }
+            String keyword = normalized.split("[\\s(]", 2)[0];
+            return keyword.equals("with") ? "select" : keyword;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration wrapping the data source in the {@link SqlStatementCounter} and registering the
+ * {@link SqlStatements} helper reading it.
+ */
+@TestConfiguration
+public class SqlStatementsTestConfiguration {
+
+    @Bean
+    static BeanPostProcessor sqlStatementCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCounter)
+                        ? new SqlStatementCounter(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    SqlStatements sqlStatements(DataSource dataSource, EntityManager entityManager) {
+        return new SqlStatements((SqlStatementCounter) dataSource, entityManager);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.capgemini.wsb.fitnesstracker.achievement;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.TimeZone;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class AchievementApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAwardAchievementsIncrementally_whenTrainingsAreCreatedAndUpdated() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T16:00:00", "activityType": "RUNNING", "distance": 60.0, "averageSpeed": 10.0},
+                    {"userId": %1$s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T12:00:00", "activityType": "CYCLING", "distance": 70.0, "averageSpeed": 35.0}
+                ]
+                """.formatted(user1.getId());
+        String bulkResult = mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> mockMvc.perform(get("/v1/achievements/users/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].code", contains("fast-cyclist"))));
+
+        Integer cyclingId = JsonPath.read(bulkResult, "$.items[1].trainingId");
+        mockMvc.perform(put("/v1/trainings/{trainingId}", cyclingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T12:00:00", "activityType": "RUNNING", "distance": 40.0, "averageSpeed": 20.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> mockMvc.perform(get("/v1/achievements/users/{userId}", user1.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].code", contains("fast-cyclist", "first-100-km-running")))
+                .andExpect(jsonPath("$[1].name").value("First 100 km running")));
+    }
+
+    @Test
+    void shouldAwardAchievementsOfExistingTrainings_whenReevaluatingRules() throws Exception {
+        User user1 = existingUser(generateClient());
+        for (int day = 10; day < 20; day++) {
+            persistTraining(generateTrainingWithDetails(user1, "2024-05-" + day + " 10:00:00", "2024-05-" + day + " 11:00:00", ActivityType.WALKING, 5, 5.0));
+        }
+
+        mockMvc.perform(get("/v1/achievements/users/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(post("/v1/achievements/reevaluate"))
+                .andDo(log())
+                .andExpect(status().isAccepted());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> mockMvc.perform(get("/v1/achievements/users/{userId}", user1.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].code", contains("10-trainings-in-a-month"))));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTrainingWithDetails(User user, String startTime, String endTime, ActivityType activityType, double distance, double averageSpeed) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        return new Training(
+                user,
+                sdf.parse(startTime),
+                sdf.parse(endTime),
+                activityType,
+                distance,
+                averageSpeed);
+    }
+}
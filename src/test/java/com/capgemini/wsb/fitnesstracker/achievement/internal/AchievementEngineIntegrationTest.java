@@ -0,0 +1,73 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class AchievementEngineIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private AchievementEngine engine;
+
+    @Autowired
+    private AchievementCounterRepository counterRepository;
+
+    @Autowired
+    private CalendarProperties calendarProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldCountTrainingOnce_whenTrainingCommitsBeforeQueuedChunkReadsIt() throws Exception {
+        User user1 = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+        Training training1 = persistTraining(new Training(user1, new Date(0), new Date(3_600_000), ActivityType.RUNNING, 60, 10.0));
+        AchievementRule rule = engine.getRules().stream()
+                .filter(candidate -> candidate.code().equals("first-100-km-running"))
+                .findFirst()
+                .orElseThrow();
+        AtomicReference<CompletableFuture<Integer>> reevaluation = new AtomicReference<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(TrainingsChangedEvent.created(TrainingSnapshot.of(training1)));
+            // Queues the chunk after the commit, ahead of the evaluation of the committed training
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reevaluation.set(engine.reevaluate(List.of(rule)));
+                }
+            });
+        });
+        reevaluation.get().get(10, TimeUnit.SECONDS);
+        // Evaluations run in order, so the evaluation of the training is done once a later re-evaluation is
+        engine.reevaluate(List.of()).get(10, TimeUnit.SECONDS);
+
+        String key = rule.counterKey(TrainingSnapshot.of(training1), calendarProperties.getZone());
+        assertThat(counterRepository.findValue(user1.getId(), key)).contains(60.0);
+    }
+}
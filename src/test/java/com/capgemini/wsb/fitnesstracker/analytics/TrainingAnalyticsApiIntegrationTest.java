@@ -0,0 +1,133 @@
+package com.capgemini.wsb.fitnesstracker.analytics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingAnalyticsApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAggregateCommittedTrainingsPerWeekAndActivityType_whenTrainingsAreCreatedAndUpdated() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "RUNNING", "distance": 10.0, "averageSpeed": 10.0},
+                    {"userId": %1$s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T10:30:00", "activityType": "RUNNING", "distance": 5.0, "averageSpeed": 12.0},
+                    {"userId": %1$s, "startTime": "2024-04-03T10:00:00", "endTime": "2024-04-03T12:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0},
+                    {"userId": %1$s, "startTime": "2024-04-08T10:00:00", "endTime": "2024-04-08T11:00:00", "activityType": "RUNNING", "distance": 8.0, "averageSpeed": 8.0}
+                ]
+                """.formatted(user1.getId());
+        String bulkResult = mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        mockMvc.perform(get("/v1/analytics/trainings").param("userId", user1.getId().toString()).param("period", "WEEK"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedTrainings").value(4))
+                .andExpect(jsonPath("$.groups", hasSize(3)))
+                .andExpect(jsonPath("$.groups[0].period").value("2024-04-01"))
+                .andExpect(jsonPath("$.groups[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$.groups[0].trainings").value(2))
+                .andExpect(jsonPath("$.groups[0].totalDistance").value(15.0))
+                .andExpect(jsonPath("$.groups[0].totalDurationSeconds").value(5400))
+                .andExpect(jsonPath("$.groups[0].averageSpeed").value(11.0))
+                .andExpect(jsonPath("$.groups[0].maxSpeed").value(12.0))
+                .andExpect(jsonPath("$.groups[1].period").value("2024-04-01"))
+                .andExpect(jsonPath("$.groups[1].activityType").value("CYCLING"))
+                .andExpect(jsonPath("$.groups[2].period").value("2024-04-08"))
+                .andExpect(jsonPath("$.groups[2].activityType").value("RUNNING"));
+
+        Integer updatedTrainingId = JsonPath.read(bulkResult, "$.items[1].trainingId");
+        mockMvc.perform(put("/v1/trainings/{trainingId}", updatedTrainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T11:00:00", "activityType": "WALKING", "distance": 3.0, "averageSpeed": 3.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/analytics/trainings")
+                        .param("userId", user1.getId().toString())
+                        .param("activityType", "RUNNING", "WALKING")
+                        .param("from", "2024-04-01")
+                        .param("to", "2024-04-08")
+                        .param("byActivityType", "false"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedTrainings").value(2))
+                .andExpect(jsonPath("$.groups", hasSize(1)))
+                .andExpect(jsonPath("$.groups[0].period").doesNotExist())
+                .andExpect(jsonPath("$.groups[0].activityType").doesNotExist())
+                .andExpect(jsonPath("$.groups[0].totalDistance").value(13.0))
+                .andExpect(jsonPath("$.groups[0].maxSpeed").value(10.0));
+    }
+
+    @Test
+    void shouldAggregateTrainingsWrittenToDatabase_whenReloadingAnalytics() throws Exception {
+        User user1 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-17 10:00:00", "2024-05-17 11:30:00", ActivityType.RUNNING, 14, 11.5));
+        persistTraining(generateTrainingWithDetails(user1, "2024-06-19 10:00:00", "2024-06-19 11:00:00", ActivityType.RUNNING, 2, 2.0));
+
+        mockMvc.perform(get("/v1/analytics/trainings").param("userId", user1.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedTrainings").value(0));
+
+        mockMvc.perform(post("/v1/analytics/trainings/reload"))
+                .andDo(log())
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/analytics/trainings").param("userId", user1.getId().toString()).param("period", "MONTH"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scannedTrainings").value(2))
+                .andExpect(jsonPath("$.groups", hasSize(2)))
+                .andExpect(jsonPath("$.groups[0].period").value("2024-05-01"))
+                .andExpect(jsonPath("$.groups[0].totalDurationSeconds").value(5400))
+                .andExpect(jsonPath("$.groups[1].period").value("2024-06-01"));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTrainingWithDetails(User user, String startTime, String endTime, ActivityType activityType, double distance, double averageSpeed) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        return new Training(
+                user,
+                sdf.parse(startTime),
+                sdf.parse(endTime),
+                activityType,
+                distance,
+                averageSpeed);
+    }
+}
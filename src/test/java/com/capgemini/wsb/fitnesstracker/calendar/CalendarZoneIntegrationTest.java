@@ -0,0 +1,78 @@
+package com.capgemini.wsb.fitnesstracker.calendar;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "calendar.zone=Europe/Warsaw")
+class CalendarZoneIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldTakeDayOfTrainingInCalendarZone_whenTrainingStartsBeforeMidnightUtc() throws Exception {
+        User user1 = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+
+        // 00:30 on the 1st of June in Warsaw
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-05-31T22:30:00", "endTime": "2024-05-31T23:30:00", "activityType": "RUNNING", "distance": 10.0, "averageSpeed": 10.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "MONTH").param("day", "2024-05-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(0));
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "MONTH").param("day", "2024-06-15"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(1));
+
+        mockMvc.perform(get("/v1/leaderboards/RUNNING/users/{userId}", user1.getId()).param("period", "MONTH").param("day", "2024-05-15"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/leaderboards/RUNNING/users/{userId}", user1.getId()).param("period", "MONTH").param("day", "2024-06-15"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/analytics/trainings").param("userId", user1.getId().toString()).param("period", "DAY"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups", hasSize(1)))
+                .andExpect(jsonPath("$.groups[0].period").value("2024-06-01"));
+        mockMvc.perform(get("/v1/analytics/trainings").param("userId", user1.getId().toString()).param("from", "2024-06-01").param("to", "2024-06-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedTrainings").value(1));
+    }
+
+    @Test
+    void shouldTakeAgesAsOfTodayInCalendarZone_whenGettingAgeDistribution() throws Exception {
+        LocalDate today = now(ZoneId.of("Europe/Warsaw"));
+        existingUser(new User(randomUUID().toString(), randomUUID().toString(), today.minusYears(30), randomUUID().toString()));
+
+        mockMvc.perform(get("/v1/users/age-distribution").param("bucketSize", "10"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[3].fromAge").value(30))
+                .andExpect(jsonPath("$[3].users").value(1));
+    }
+}
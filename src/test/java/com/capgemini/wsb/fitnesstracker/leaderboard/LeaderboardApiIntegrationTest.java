@@ -0,0 +1,103 @@
+package com.capgemini.wsb.fitnesstracker.leaderboard;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class LeaderboardApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRankUsersAndMoveThemInPlace_whenTrainingsAreCreatedAndUpdated() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2023-02-06T10:00:00", "endTime": "2023-02-06T11:00:00", "activityType": "RUNNING", "distance": 10.0, "averageSpeed": 10.0},
+                    {"userId": %1$s, "startTime": "2023-02-07T10:00:00", "endTime": "2023-02-07T10:30:00", "activityType": "RUNNING", "distance": 5.0, "averageSpeed": 12.0},
+                    {"userId": %2$s, "startTime": "2023-02-08T10:00:00", "endTime": "2023-02-08T11:20:00", "activityType": "RUNNING", "distance": 12.0, "averageSpeed": 9.0},
+                    {"userId": %3$s, "startTime": "2023-02-12T10:00:00", "endTime": "2023-02-12T10:12:00", "activityType": "RUNNING", "distance": 3.0, "averageSpeed": 15.0},
+                    {"userId": %3$s, "startTime": "2023-02-12T12:00:00", "endTime": "2023-02-12T16:00:00", "activityType": "CYCLING", "distance": 100.0, "averageSpeed": 25.0}
+                ]
+                """.formatted(user1.getId(), user2.getId(), user3.getId());
+        String bulkResult = mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        mockMvc.perform(get("/v1/leaderboards/RUNNING").param("period", "WEEK").param("day", "2023-02-08"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2023-02-06"))
+                .andExpect(jsonPath("$.to").value("2023-02-12"))
+                .andExpect(jsonPath("$.rankedUsers").value(3))
+                .andExpect(jsonPath("$.entries[*].userId", contains(user1.getId().intValue(), user2.getId().intValue(), user3.getId().intValue())))
+                .andExpect(jsonPath("$.entries[*].score", contains(15.0, 12.0, 3.0)));
+        mockMvc.perform(get("/v1/leaderboards/RUNNING").param("day", "2023-02-08").param("metric", "SPEED").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[*].userId", contains(user3.getId().intValue(), user1.getId().intValue())))
+                .andExpect(jsonPath("$.entries[*].rank", contains(1, 2)));
+        mockMvc.perform(get("/v1/leaderboards/RUNNING/users/{userId}", user3.getId()).param("day", "2023-02-08"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(3))
+                .andExpect(jsonPath("$.score").value(3.0));
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2023-02-09T10:00:00", "endTime": "2023-02-09T12:00:00", "activityType": "RUNNING", "distance": 20.0, "averageSpeed": 11.0}
+                        """.formatted(user3.getId())))
+                .andExpect(status().isCreated());
+        Integer movedTrainingId = JsonPath.read(bulkResult, "$.items[1].trainingId");
+        mockMvc.perform(put("/v1/trainings/{trainingId}", movedTrainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2023-02-20T10:00:00", "endTime": "2023-02-20T10:30:00", "activityType": "RUNNING", "distance": 5.0, "averageSpeed": 12.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/leaderboards/RUNNING/users/{userId}", user3.getId()).param("day", "2023-02-08"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(1))
+                .andExpect(jsonPath("$.score").value(23.0));
+        mockMvc.perform(get("/v1/leaderboards/RUNNING").param("day", "2023-02-08").param("metric", "SPEED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[*].userId", contains(user3.getId().intValue(), user1.getId().intValue(), user2.getId().intValue())))
+                .andExpect(jsonPath("$.entries[*].score", contains(15.0, 10.0, 9.0)));
+        mockMvc.perform(get("/v1/leaderboards/RUNNING").param("period", "MONTH").param("day", "2023-02-08"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[*].score", contains(23.0, 15.0, 12.0)));
+        mockMvc.perform(get("/v1/leaderboards/CYCLING/users/{userId}", user2.getId()).param("day", "2023-02-08"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenLimitIsOutOfRange() throws Exception {
+        mockMvc.perform(get("/v1/leaderboards/RUNNING").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
@@ -0,0 +1,118 @@
+package com.capgemini.wsb.fitnesstracker.mail;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxEmail;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "mail.outbox.poll-interval=50ms",
+        "mail.outbox.initial-backoff=50ms",
+        "mail.outbox.max-attempts=3"
+})
+class EmailOutboxIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JpaRepository<OutboxEmail, Long> outboxEmailRepository;
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private EmailSender emailSender;
+
+    @Test
+    void shouldRespondBeforeDelivery_whenMailServerIsSlow() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(emailSender).send(any(EmailDto.class));
+
+        long startNanos = System.nanoTime();
+        mockMvc.perform(post("/v1/emails/send-test")
+                        .param("to", "emma.johnson@domain.com")
+                        .param("subject", "Hello")
+                        .param("content", "Test"))
+                .andDo(log())
+                .andExpect(status().isOk());
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                .singleElement()
+                .satisfies(email -> {
+                    assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT);
+                    assertThat(email.getAttempts()).isEqualTo(1);
+                    assertThat(email.getSentAt()).isNotNull();
+                }));
+    }
+
+    @Test
+    void shouldRetryDelivery_whenMailServerFailsTemporarily() throws Exception {
+        doThrow(new MailSendException("SMTP server unavailable"))
+                .doNothing()
+                .when(emailSender).send(any(EmailDto.class));
+
+        mockMvc.perform(post("/v1/emails/send-test")
+                        .param("to", "emma.johnson@domain.com")
+                        .param("subject", "Hello")
+                        .param("content", "Test"))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                .singleElement()
+                .satisfies(email -> {
+                    assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT);
+                    assertThat(email.getAttempts()).isEqualTo(2);
+                    assertThat(email.getLastError()).isNull();
+                }));
+        verify(emailSender, times(2)).send(new EmailDto("emma.johnson@domain.com", "Hello", "Test"));
+    }
+
+    @Test
+    void shouldMoveToDeadLetters_whenAllDeliveryAttemptsFail() throws Exception {
+        doThrow(new MailSendException("SMTP server unavailable")).when(emailSender).send(any(EmailDto.class));
+
+        mockMvc.perform(post("/v1/emails/send-test")
+                        .param("to", "emma.johnson@domain.com")
+                        .param("subject", "Hello")
+                        .param("content", "Test"))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                .singleElement()
+                .satisfies(email -> {
+                    assertThat(email.getStatus()).isEqualTo(OutboxStatus.DEAD);
+                    assertThat(email.getAttempts()).isEqualTo(3);
+                    assertThat(email.getLastError()).contains("SMTP server unavailable");
+                }));
+        verify(emailSender, times(3)).send(any(EmailDto.class));
+    }
+}
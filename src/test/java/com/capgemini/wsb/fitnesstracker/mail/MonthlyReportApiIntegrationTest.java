@@ -2,9 +2,11 @@ package com.capgemini.wsb.fitnesstracker.mail;
 
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.MonthlyAdminReportDto;
 import com.capgemini.wsb.fitnesstracker.mail.internal.EmailService;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +37,9 @@ class MonthlyReportApiIntegrationTest extends IntegrationTestBase {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TrainingServiceImpl trainingService;
+
     @Test
     void shouldSendMonthlyReport_whenTrainingsExist() throws Exception {
         // Given
@@ -41,11 +48,15 @@ class MonthlyReportApiIntegrationTest extends IntegrationTestBase {
         persistTraining(generateTrainingWithDetails(user1, "2024-10-15 18:00:00", "2024-10-15 19:30:00", ActivityType.CYCLING, 15.0, 12.0));
 
         // When & Then
-        mockMvc.perform(post("/v1/emails/monthly-report/{userId}", user1.getId())
+        recordStatements(() -> mockMvc.perform(post("/v1/emails/monthly-report/{userId}", user1.getId())
                         .param("month", "2024-10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk()))
+                .hasSelects(1)
+                .hasInserts(1)
+                .hasUpdates(0)
+                .hasDeletes(0);
     }
 
     @Test
@@ -71,12 +82,37 @@ class MonthlyReportApiIntegrationTest extends IntegrationTestBase {
         persistTraining(generateTrainingWithDetails(user2, "2024-10-20 10:00:00", "2024-10-20 11:30:00", ActivityType.TENNIS, 5.0, 4.0));
 
         // When & Then
-        mockMvc.perform(post("/v1/emails/monthly-admin-report")
+        recordStatements(() -> mockMvc.perform(post("/v1/emails/monthly-admin-report")
                         .param("adminEmail", "admin@example.com")
                         .param("month", "2024-10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk()))
+                .hasSelects(1)
+                .hasInserts(1)
+                .hasUpdates(0)
+                .hasDeletes(0);
+    }
+
+    @Test
+    void shouldSummarizeEveryUser_whenGeneratingAdminMonthlyReport() throws Exception {
+        // Given
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-10-01 08:00:00", "2024-10-01 09:30:00", ActivityType.RUNNING, 10.5, 8.2));
+        persistTraining(generateTrainingWithDetails(user2, "2024-10-15 18:00:00", "2024-10-15 19:30:00", ActivityType.CYCLING, 15.0, 12.0));
+        persistTraining(generateTrainingWithDetails(user2, "2024-10-31 22:00:00", "2024-10-31 23:30:00", ActivityType.TENNIS, 5.0, 4.0));
+        persistTraining(generateTrainingWithDetails(user2, "2024-11-01 10:00:00", "2024-11-01 11:30:00", ActivityType.TENNIS, 5.0, 4.0));
+
+        // When
+        MonthlyAdminReportDto report = trainingService.generateAdminMonthlyReport(LocalDate.of(2024, 10, 1));
+
+        // Then
+        assertThat(report.users()).containsExactly(
+                new MonthlyAdminReportDto.UserTrainingSummary(user1.getId(), user1.getFirstName() + " " + user1.getLastName(), user1.getEmail(), 1, 10.5),
+                new MonthlyAdminReportDto.UserTrainingSummary(user2.getId(), user2.getFirstName() + " " + user2.getLastName(), user2.getEmail(), 2, 20.0),
+                new MonthlyAdminReportDto.UserTrainingSummary(user3.getId(), user3.getFirstName() + " " + user3.getLastName(), user3.getEmail(), 0, 0.0));
     }
 
     @Test
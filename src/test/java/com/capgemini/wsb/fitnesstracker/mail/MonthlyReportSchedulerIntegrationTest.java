@@ -0,0 +1,100 @@
+package com.capgemini.wsb.fitnesstracker.mail;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxEmail;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus;
+import com.capgemini.wsb.fitnesstracker.mail.internal.TrainingReportScheduler;
+import com.capgemini.wsb.fitnesstracker.mail.internal.TrainingReportScheduler.MonthlyReportRunSummary;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "mail.outbox.poll-interval=50ms",
+        "mail.outbox.initial-backoff=50ms",
+        "mail.outbox.max-attempts=2"
+})
+class MonthlyReportSchedulerIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TrainingReportScheduler trainingReportScheduler;
+
+    @Autowired
+    private JpaRepository<OutboxEmail, Long> outboxEmailRepository;
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private EmailSender emailSender;
+
+    @Test
+    void shouldDeliverReportsToOtherUsers_whenDeliveringToOneUserFails() throws Exception {
+        // Given
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-10-01 08:00:00", "2024-10-01 09:30:00", ActivityType.RUNNING, 10.5, 8.2));
+        persistTraining(generateTrainingWithDetails(user2, "2024-10-15 18:00:00", "2024-10-15 19:30:00", ActivityType.CYCLING, 15.0, 12.0));
+        persistTraining(generateTrainingWithDetails(user3, "2024-10-20 10:00:00", "2024-10-20 11:30:00", ActivityType.TENNIS, 5.0, 4.0));
+        doThrow(new MailSendException("SMTP server unavailable"))
+                .when(emailSender).send(argThat(email -> email.toAddress().equals(user2.getEmail())));
+
+        // When
+        MonthlyReportRunSummary summary = trainingReportScheduler.sendMonthlyReports(LocalDate.of(2024, 10, 1));
+
+        // Then
+        assertThat(summary.users()).isEqualTo(4);
+        assertThat(summary.sent()).isEqualTo(3);
+        assertThat(summary.failed()).isEqualTo(0);
+        assertThat(summary.skipped()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                .extracting(OutboxEmail::getToAddress, OutboxEmail::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(user1.getEmail(), OutboxStatus.SENT),
+                        tuple(user2.getEmail(), OutboxStatus.DEAD),
+                        tuple(user3.getEmail(), OutboxStatus.SENT)));
+        verify(emailSender, times(4)).send(any(EmailDto.class));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTrainingWithDetails(User user, String startTime, String endTime, ActivityType activityType, double distance, double averageSpeed) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+        return new Training(
+                user,
+                sdf.parse(startTime),
+                sdf.parse(endTime),
+                activityType,
+                distance,
+                averageSpeed);
+    }
+}
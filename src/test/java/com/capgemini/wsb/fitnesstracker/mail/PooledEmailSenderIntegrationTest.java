@@ -0,0 +1,124 @@
+package com.capgemini.wsb.fitnesstracker.mail;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxEmail;
+import com.capgemini.wsb.fitnesstracker.mail.internal.OutboxStatus;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "mail.from=tracker@domain.com",
+        "mail.host=localhost",
+        "mail.port=3025",
+        "mail.sender.mode=pooled",
+        "mail.sender.connections=2",
+        "mail.sender.batch-size=10",
+        "mail.sender.max-messages-per-connection=5",
+        "mail.outbox.poll-interval=50ms"
+})
+class PooledEmailSenderIntegrationTest extends IntegrationTestBase {
+
+    private static final String CONNECTIONS_OPENED_METER = "fitnesstracker.mail.connections.opened";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JpaRepository<OutboxEmail, Long> outboxEmailRepository;
+
+    @Test
+    void shouldSendBatchOverReusedConnections() {
+        List<EmailDto> emails = IntStream.range(0, 30)
+                .mapToObj(i -> new EmailDto("user" + i + "@domain.com", "Report " + i, "Content " + i))
+                .toList();
+        double connectionsBefore = connectionsOpened();
+
+        var failures = emailSender.sendAll(emails);
+
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(30);
+        assertThat(connectionsOpened() - connectionsBefore).isEqualTo(6);
+    }
+
+    @Test
+    void shouldFailOnlyInvalidMessageAndSendOthers_whenMessageCannotBeBuilt() {
+        List<EmailDto> emails = List.of(
+                new EmailDto("user1@domain.com", "Report 1", "Content 1"),
+                new EmailDto("user2@domain.com", "Report 2", null),
+                new EmailDto("user3@domain.com", "Report 3", "Content 3"));
+
+        var failures = emailSender.sendAll(emails);
+
+        assertThat(failures).containsOnlyKeys(1);
+        assertThat(failures.get(1)).isInstanceOf(MailSendException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+
+    @Test
+    void shouldFailRemainingMessagesWithoutRetrying_whenServerIsUnreachable() {
+        List<EmailDto> emails = IntStream.range(0, 25)
+                .mapToObj(i -> new EmailDto("user" + i + "@domain.com", "Report " + i, "Content " + i))
+                .toList();
+        greenMail.stop();
+
+        var failures = emailSender.sendAll(emails);
+
+        assertThat(failures).hasSize(25);
+        assertThat(failures.values()).allSatisfy(failure -> assertThat(failure)
+                .isSameAs(failures.get(0))
+                .hasMessageContaining("Failed to connect to the SMTP server"));
+    }
+
+    @Test
+    void shouldDeliverOutboxOverPooledConnections() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            mockMvc.perform(post("/v1/emails/send-test")
+                            .param("to", "user" + i + "@domain.com")
+                            .param("subject", "Hello")
+                            .param("content", "Test"))
+                    .andExpect(status().isOk());
+        }
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                .hasSize(12)
+                .allSatisfy(email -> assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT)));
+        assertThat(greenMail.getReceivedMessages()).hasSize(12);
+    }
+
+    private double connectionsOpened() {
+        return meterRegistry.get(CONNECTIONS_OPENED_METER).counter().count();
+    }
+}
@@ -0,0 +1,69 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "mail.outbox.retention=1d",
+        "mail.outbox.max-dead-letters=2",
+        "mail.outbox.batch-size=2"
+})
+class EmailOutboxPurgeIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldPurgeEmailsSentBeforeRetentionAndOldestDeadLetters_whenPurgingOutbox() {
+        Instant now = Instant.now();
+        List<Long> oldSent = List.of(sent(now.minus(Duration.ofDays(3))), sent(now.minus(Duration.ofDays(2))), sent(now.minus(Duration.ofHours(25))));
+        Long recentSent = sent(now.minus(Duration.ofHours(1)));
+        List<Long> dead = List.of(dead(), dead(), dead(), dead());
+
+        long purged = dispatcher.purge();
+
+        assertThat(purged).isEqualTo(oldSent.size() + 2);
+        assertThat(outboxEmailRepository.findAll())
+                .extracting(OutboxEmail::getId)
+                .containsExactlyInAnyOrder(recentSent, dead.get(2), dead.get(3));
+        assertThat(dispatcher.purge()).isZero();
+    }
+
+    private Long sent(Instant sentAt) {
+        return transactionTemplate.execute(status -> {
+            Long id = outboxEmailRepository.save(new OutboxEmail(email(), sentAt)).getId();
+            outboxEmailRepository.markSent(List.of(id), sentAt);
+            return id;
+        });
+    }
+
+    private Long dead() {
+        return transactionTemplate.execute(status -> {
+            Long id = outboxEmailRepository.save(new OutboxEmail(email(), Instant.now())).getId();
+            outboxEmailRepository.markDead(id, "SMTP server unavailable");
+            return id;
+        });
+    }
+
+    private static EmailDto email() {
+        return new EmailDto("emma.johnson@domain.com", "Hello", "Test");
+    }
+}
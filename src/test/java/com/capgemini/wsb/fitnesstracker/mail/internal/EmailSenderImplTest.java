@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailSenderImplTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRecordFailure_whenSendingFailsWithUnexpectedException() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            public void send(SimpleMailMessage simpleMessage) {
+                throw new IllegalStateException("Mail session is closed");
+            }
+        };
+        EmailSenderImpl sender = new EmailSenderImpl(mailSender, new MailProperties("noreply@domain.com", "localhost", 25), meterRegistry);
+
+        assertThatThrownBy(() -> sender.send(new EmailDto("emma.johnson@domain.com", "Hello", "Test")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(sendTimerCount("failure")).isEqualTo(1);
+        assertThat(sendTimerCount("success")).isZero();
+    }
+
+    private long sendTimerCount(String outcome) {
+        return meterRegistry.get(EmailSendTimers.SEND_METER)
+                .tag("sender", "simple")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
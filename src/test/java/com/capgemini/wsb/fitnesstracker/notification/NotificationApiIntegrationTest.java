@@ -0,0 +1,86 @@
+package com.capgemini.wsb.fitnesstracker.notification;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class NotificationApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldPushTrainingsToMatchingSubscribers_whenTrainingsAreCreatedAndUpdated() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        MvcResult userStream = mockMvc.perform(get("/v1/notifications/trainings").param("userId", user1.getId().toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult runningStream = mockMvc.perform(get("/v1/notifications/trainings").param("activityType", "RUNNING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "CYCLING", "distance": 30.0, "averageSpeed": 30.0},
+                    {"userId": %2$s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T11:00:00", "activityType": "RUNNING", "distance": 10.0, "averageSpeed": 10.0}
+                ]
+                """.formatted(user1.getId(), user2.getId());
+        String bulkResult = mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Integer cyclingId = JsonPath.read(bulkResult, "$.items[0].trainingId");
+        Integer runningId = JsonPath.read(bulkResult, "$.items[1].trainingId");
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", cyclingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "RUNNING", "distance": 12.0, "averageSpeed": 12.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(userStream.getResponse().getContentAsString())
+                    .contains("event:training-created\nid:" + cyclingId + "\ndata:{\"trainingId\":" + cyclingId)
+                    .contains("event:training-updated\nid:" + cyclingId + "\ndata:{\"trainingId\":" + cyclingId)
+                    .contains("\"activityType\":\"RUNNING\",\"distance\":12.0")
+                    .doesNotContain("id:" + runningId + "\n");
+            assertThat(runningStream.getResponse().getContentAsString())
+                    .contains("event:training-created\nid:" + runningId + "\n")
+                    .contains("event:training-updated\nid:" + cyclingId + "\n")
+                    .doesNotContain("event:training-created\nid:" + cyclingId + "\n");
+        });
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenActivityTypeIsUnknown() throws Exception {
+        mockMvc.perform(get("/v1/notifications/trainings").param("activityType", "SKIING"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
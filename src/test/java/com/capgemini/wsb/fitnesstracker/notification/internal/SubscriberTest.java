@@ -0,0 +1,128 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SubscriberTest {
+
+    private static final Duration WRITE_TIMEOUT = Duration.ofMillis(200);
+
+    private final ExecutorService senders = Executors.newSingleThreadExecutor();
+    private final ThreadPoolExecutor writers = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    private final CountDownLatch stalledClientReads = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        stalledClientReads.countDown();
+        senders.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    @Test
+    void shouldDisconnectStalledSubscriberAndKeepSendingToOthers_whenWriteTimesOut() {
+        Subscriber stalled = subscriber(new StalledEmitter());
+        RecordingEmitter healthyEmitter = new RecordingEmitter();
+        Subscriber healthy = subscriber(healthyEmitter);
+
+        for (int event = 1; event <= 3; event++) {
+            Subscriber.OutboundEvent outbound = new Subscriber.OutboundEvent("training-created", String.valueOf(event), "{}");
+            stalled.offer(outbound);
+            healthy.offer(outbound);
+        }
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(stalled.isClosed()).isTrue();
+            assertThat(healthyEmitter.sent).hasSize(3);
+        });
+        assertThat(healthy.isClosed()).isFalse();
+        assertThat(stalled.offer(new Subscriber.OutboundEvent("training-created", "4", "{}"))).isFalse();
+    }
+
+    @Test
+    void shouldCompleteStalledSubscriberOnlyOnceItsWriteReturns_whenWriteTimesOut() {
+        StalledEmitter stalledEmitter = new StalledEmitter();
+        Subscriber stalled = subscriber(stalledEmitter);
+
+        stalled.offer(new Subscriber.OutboundEvent("training-created", "1", "{}"));
+
+        await().atMost(Duration.ofSeconds(5)).until(stalled::isClosed);
+        assertThat(stalledEmitter.completions).hasValue(0);
+        assertThat(writers.getActiveCount()).isEqualTo(1);
+
+        stalledClientReads.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(stalledEmitter.completions).hasValue(1));
+        assertThat(writers.getQueue()).isEmpty();
+    }
+
+    @Test
+    void shouldDisconnectSubscriberWithoutGrowingWriters_whenAllWritersAreHeldByStalledClients() {
+        Subscriber stalled1 = subscriber(new StalledEmitter());
+        Subscriber stalled2 = subscriber(new StalledEmitter());
+        stalled1.offer(new Subscriber.OutboundEvent("training-created", "1", "{}"));
+        stalled2.offer(new Subscriber.OutboundEvent("training-created", "1", "{}"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> stalled1.isClosed() && stalled2.isClosed());
+
+        RecordingEmitter healthyEmitter = new RecordingEmitter();
+        Subscriber healthy = subscriber(healthyEmitter);
+        healthy.offer(new Subscriber.OutboundEvent("training-created", "1", "{}"));
+
+        await().atMost(Duration.ofSeconds(5)).until(healthy::isClosed);
+        assertThat(healthyEmitter.sent).isEmpty();
+        assertThat(writers.getPoolSize()).isEqualTo(2);
+    }
+
+    private Subscriber subscriber(SseEmitter emitter) {
+        return new Subscriber(emitter, null, null, 64, senders, writers, WRITE_TIMEOUT);
+    }
+
+    /**
+     * Emitter of a client that stopped reading, blocking every write.
+     */
+    private class StalledEmitter extends SseEmitter {
+
+        private final AtomicInteger completions = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                stalledClientReads.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Write interrupted", e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completions.incrementAndGet();
+            super.complete();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class StatisticsApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void shouldApplyDeltas_whenTrainingsAreCreatedAndUpdated() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        createTraining(user1, "2024-04-01T10:00:00", "2024-04-01T11:00:00", "RUNNING", 10.0);
+        String trainingLocation = createTraining(user1, "2024-04-02T10:00:00", "2024-04-02T12:00:00", "WALKING", 8.0);
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user1.getId()))
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(18.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(1100));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingLocation)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(trainingRequest(user2, "2024-04-02T10:00:00", "2024-04-02T11:00:00", "CYCLING", 20.0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(10.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(600));
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user2.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(20.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(500));
+    }
+
+    @Test
+    void shouldDeleteStatisticsAndAllowDeletingUser_whenOnlyTrainingIsMovedToAnotherUser() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        String trainingLocation = createTraining(user1, "2024-04-01T10:00:00", "2024-04-01T11:00:00", "RUNNING", 10.0);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingLocation)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(trainingRequest(user2, "2024-04-01T10:00:00", "2024-04-01T11:00:00", "RUNNING", 10.0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user2.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+
+        mockMvc.perform(delete("/v1/users/{userId}", user1.getId()))
+                .andDo(log())
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldCountBothTrainings_whenFirstTrainingsOfUserAreCreatedConcurrently() throws Exception {
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:00:00", ActivityType.RUNNING, 10, 10.0));
+        Training training2 = persistTraining(generateTrainingWithDetails(user1, "2024-05-18 19:00:00", "2024-05-18 20:00:00", ActivityType.RUNNING, 5, 5.0));
+        CountDownLatch firstCreated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                eventPublisher.publishEvent(TrainingsChangedEvent.created(TrainingSnapshot.of(training1)));
+                firstCreated.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            firstCreated.await();
+            Thread second = new Thread(() -> transactionTemplate.executeWithoutResult(status ->
+                    eventPublisher.publishEvent(TrainingsChangedEvent.created(TrainingSnapshot.of(training2)))));
+            second.start();
+            await().atMost(Duration.ofSeconds(5)).until(() -> second.getState() != Thread.State.RUNNABLE);
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.join(5000);
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(15.0));
+    }
+
+    @Test
+    void shouldRebuildStatisticsFromExistingTrainings_whenRebuildingStatistics() throws Exception {
+        User user1 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:30:00", ActivityType.RUNNING, 14, 11.5));
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-19 19:00:00", "2024-05-19 20:00:00", ActivityType.SWIMMING, 2, 2.0));
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/v1/statistics/rebuild").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(16.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(1400));
+    }
+
+    @Test
+    void shouldCountTrainingsOnce_whenRebuildingStatisticsWhileFirstStatisticsOfUserAreCreated() throws Exception {
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:00:00", ActivityType.RUNNING, 10, 10.0));
+        CountDownLatch firstCreated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                eventPublisher.publishEvent(TrainingsChangedEvent.created(TrainingSnapshot.of(training1)));
+                firstCreated.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            firstCreated.await();
+            FutureTask<?> rebuilt = new FutureTask<>(() -> mockMvc.perform(post("/v1/statistics/rebuild")).andExpect(status().isOk()));
+            Thread rebuild = new Thread(rebuilt);
+            rebuild.start();
+            await().atMost(Duration.ofSeconds(5)).until(() -> rebuild.getState() == Thread.State.WAITING
+                    || rebuild.getState() == Thread.State.TIMED_WAITING
+                    || !rebuild.isAlive());
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            rebuilt.get(5, TimeUnit.SECONDS);
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(10.0));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String createTraining(User user, String startTime, String endTime, String activityType, double distance) throws Exception {
+        String response = mockMvc.perform(post("/v1/trainings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(trainingRequest(user, startTime, endTime, activityType, distance)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return getAllTrainings().stream()
+                .filter(training -> training.getDistance() == distance)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Training was not created: " + response))
+                .getId()
+                .toString();
+    }
+
+    private static String trainingRequest(User user, String startTime, String endTime, String activityType, double distance) {
+        return """
+                {
+                    "userId": "%s",
+                    "startTime": "%s",
+                    "endTime": "%s",
+                    "activityType": "%s",
+                    "distance": %s,
+                    "averageSpeed": 8.2
+                }
+                """.formatted(user.getId(), startTime, endTime, activityType, distance);
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTrainingWithDetails(User user, String startTime, String endTime, ActivityType activityType, double distance, double averageSpeed) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+        return new Training(
+                user,
+                sdf.parse(startTime),
+                sdf.parse(endTime),
+                activityType,
+                distance,
+                averageSpeed);
+    }
+}
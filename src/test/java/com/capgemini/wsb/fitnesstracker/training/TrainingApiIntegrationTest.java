@@ -2,23 +2,36 @@ package com.capgemini.wsb.fitnesstracker.training;
 
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.iterableWithSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,7 +50,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
         Training training1 = persistTraining(generateTraining(user1));
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS+00:00");
         sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-        mockMvc.perform(get("/v1/trainings").contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -52,7 +65,45 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
 
-                .andExpect(jsonPath("$[1]").doesNotExist());
+                .andExpect(jsonPath("$[1]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
+    }
+
+    @Test
+    void shouldReturnTrainingsOrderedByStartTimePageByPage_whenGettingAllTrainingsWithPageSize() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithDetails(user1, "2024-05-19 19:00:00", "2024-05-19 20:30:00", ActivityType.RUNNING, 14, 11.5));
+        Training training2 = persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:30:00", ActivityType.CYCLING, 20, 15.0));
+        Training training3 = persistTraining(generateTrainingWithDetails(user1, "2024-05-18 19:00:00", "2024-05-18 20:30:00", ActivityType.WALKING, 5, 4.5));
+
+        MvcResult firstPage = mockMvc.perform(get("/v1/trainings").param("size", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].activityType").value(training2.getActivityType().toString()))
+                .andExpect(jsonPath("$[1].activityType").value(training3.getActivityType().toString()))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/v1/trainings")
+                        .param("size", "2")
+                        .param("cursor", firstPage.getResponse().getHeader(CursorPage.NEXT_CURSOR_HEADER))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].activityType").value(training1.getActivityType().toString()))
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenGettingAllTrainingsWithMalformedCursor() throws Exception {
+
+        mockMvc.perform(get("/v1/trainings").param("cursor", "not-a-cursor").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -62,7 +113,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
         Training training1 = persistTraining(generateTraining(user1));
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS+00:00");
         sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-        mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -75,7 +126,55 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
 
-                .andExpect(jsonPath("$[1]").doesNotExist());;
+                .andExpect(jsonPath("$[1]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
+    }
+
+    @Test
+    void shouldReturnNotModified_whenTrainingsOfUserAreUnchangedSinceTheTaggedVersion() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.RUNNING));
+        persistTraining(generateTrainingWithActivityType(user1, ActivityType.CYCLING));
+
+        String eTag = mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string("")))
+                .hasTotal(1)
+                .hasSelects(1);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2022-04-01T10:00:00", "endTime": "2022-04-01T11:00:00", "activityType": "RUNNING", "distance": 42.0, "averageSpeed": 10.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        String updatedETag = mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, iterableWithSize(1)))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"lastName": "Renamed"}
+                        """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/trainings/{userId}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.lastName").value("Renamed"));
     }
 
     @Test
@@ -87,7 +186,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS+00:00");
         sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-        mockMvc.perform(get("/v1/trainings/finished/{afterTime}", "2024-05-18").contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings/finished/{afterTime}", "2024-05-18").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -99,7 +198,9 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].endTime").value(sdf.format(training1.getEndTime())))
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
-                .andExpect(jsonPath("$[1]").doesNotExist());
+                .andExpect(jsonPath("$[1]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
     }
 
     @Test
@@ -110,7 +211,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
         Training training2 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.TENNIS));
         Training training3 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.TENNIS));
 
-        mockMvc.perform(get("/v1/trainings/activityType").param("activityType", "TENNIS").contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings/activityType").param("activityType", "TENNIS").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -125,7 +226,56 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1].user.email").value(user1.getEmail()))
                 .andExpect(jsonPath("$[1].activityType").value(training3.getActivityType().toString()))
 
-                .andExpect(jsonPath("$[2]").doesNotExist());
+                .andExpect(jsonPath("$[2]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
+    }
+
+    @Test
+    void shouldExportAllTrainingsAsNdjsonOrderedByStartTime_whenExportingTrainings() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-19 19:00:00", "2024-05-19 20:30:00", ActivityType.RUNNING, 14, 11.5));
+        persistTraining(generateTrainingWithDetails(user2, "2024-05-17 19:00:00", "2024-05-17 20:30:00", ActivityType.CYCLING, 20, 15.0));
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-18 19:00:00", "2024-05-18 20:30:00", ActivityType.WALKING, 5, 4.5));
+
+        MvcResult result = mockMvc.perform(get("/v1/trainings/export"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).extracting(line -> JsonPath.<String>read(line, "$.activityType"))
+                .containsExactly("CYCLING", "WALKING", "RUNNING");
+        assertThat(lines).extracting(line -> JsonPath.<Number>read(line, "$.user.id").longValue())
+                .containsExactly(user2.getId(), user1.getId(), user1.getId());
+    }
+
+    @Test
+    void shouldExportOnlyMatchingTrainings_whenExportingTrainingsWithFilters() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-19 19:00:00", "2024-05-19 20:30:00", ActivityType.RUNNING, 14, 11.5));
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-17 19:00:00", "2024-05-17 20:30:00", ActivityType.RUNNING, 20, 15.0));
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-18 19:00:00", "2024-05-18 20:30:00", ActivityType.WALKING, 5, 4.5));
+        persistTraining(generateTrainingWithDetails(user1, "2024-06-18 19:00:00", "2024-06-18 20:30:00", ActivityType.RUNNING, 5, 4.5));
+        persistTraining(generateTrainingWithDetails(user2, "2024-05-18 19:00:00", "2024-05-18 20:30:00", ActivityType.RUNNING, 5, 4.5));
+
+        MvcResult result = mockMvc.perform(get("/v1/trainings/export")
+                        .param("userId", user1.getId().toString())
+                        .param("activityType", "RUNNING")
+                        .param("from", "2024-05-01")
+                        .param("to", "2024-06-01"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString().lines().toList())
+                .extracting(line -> JsonPath.<Number>read(line, "$.distance").doubleValue())
+                .containsExactly(20.0, 14.0);
     }
 
     @Test
@@ -143,7 +293,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                     "averageSpeed": 8.2
                 }
                 """.formatted(user1.getId());
-        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+        recordStatements(() -> mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody))
                 .andDo(log())
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.user.id").value(user1.getId()))
@@ -151,10 +301,68 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.user.lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$.user.email").value(user1.getEmail()))
                 .andExpect(jsonPath("$.distance").value(10.52))
-                .andExpect(jsonPath("$.averageSpeed").value(8.2));
+                .andExpect(jsonPath("$.averageSpeed").value(8.2)))
+                .hasSelects(3)
+                .hasInserts(3)
+                .hasUpdates(4)
+                .hasDeletes(0);
 
     }
 
+    @Test
+    void shouldCreateValidTrainingsAndReportFailedOnes_whenCreatingTrainingsInBulk() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "RUNNING", "distance": 10.5, "averageSpeed": 8.2},
+                    {"userId": %1$s, "startTime": "2024-04-02T10:00:00", "endTime": "2024-04-02T11:00:00", "distance": 5.0, "averageSpeed": 5.0},
+                    {"userId": -1, "startTime": "2024-04-03T10:00:00", "endTime": "2024-04-03T11:00:00", "activityType": "CYCLING", "distance": 20.0, "averageSpeed": 20.0},
+                    {"userId": %1$s, "startTime": "2024-04-04T10:00:00", "endTime": "2024-04-04T11:00:00", "activityType": "WALKING", "distance": 3.0, "averageSpeed": 4.5}
+                ]
+                """.formatted(user1.getId());
+        recordStatements(() -> mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].trainingId").isNumber())
+                .andExpect(jsonPath("$.items[1].error").value("activityType must not be null"))
+                .andExpect(jsonPath("$.items[2].error").value("User with ID -1 not found"))
+                .andExpect(jsonPath("$.items[3].trainingId").isNumber()))
+                .hasSelects(4)
+                .hasInserts(4)
+                .hasUpdates(6)
+                .hasDeletes(0);
+
+        assertThat(getAllTrainings())
+                .extracting(Training::getActivityType)
+                .containsExactlyInAnyOrder(ActivityType.RUNNING, ActivityType.WALKING);
+    }
+
+    @Test
+    void shouldCreateAllTrainings_whenCreatingMoreTrainingsInBulkThanOneBatch() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        String requestBody = IntStream.range(0, 1200)
+                .mapToObj(i -> """
+                        {"userId": %s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "RUNNING", "distance": %s, "averageSpeed": 8.2}"""
+                        .formatted(i % 2 == 0 ? user1.getId() : user2.getId(), i))
+                .collect(Collectors.joining(",", "[", "]"));
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1200))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.items", hasSize(1200)));
+
+        assertThat(getAllTrainings()).hasSize(1200)
+                .extracting(training -> training.getUser().getId())
+                .containsOnly(user1.getId(), user2.getId());
+    }
+
     @Test
     void shouldUpdateTraining_whenUpdatingTraining() throws Exception {
 
@@ -170,7 +378,7 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 "averageSpeed": 0.0
                 }
                 """.formatted(user1.getId());
-        mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).contentType(MediaType.APPLICATION_JSON).content(requestBody))
+        recordStatements(() -> mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).contentType(MediaType.APPLICATION_JSON).content(requestBody))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.user.id").value(user1.getId()))
@@ -179,7 +387,99 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.user.email").value(user1.getEmail()))
                 .andExpect(jsonPath("$.activityType").value(ActivityType.TENNIS.toString()))
                 .andExpect(jsonPath("$.distance").value(0.0))
-                .andExpect(jsonPath("$.averageSpeed").value(0.0));
+                .andExpect(jsonPath("$.averageSpeed").value(0.0)))
+                .hasSelects(6)
+                .hasInserts(2)
+                .hasUpdates(3)
+                .hasDeletes(2);
+    }
+
+    @Test
+    void shouldSummarizeTrainingsFromDailyRollups_whenTrainingsAreCreatedAndUpdated() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    {"userId": %1$s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "RUNNING", "distance": 10.0, "averageSpeed": 10.0},
+                    {"userId": %1$s, "startTime": "2024-04-01T13:00:00", "endTime": "2024-04-01T13:30:00", "activityType": "RUNNING", "distance": 5.0, "averageSpeed": 12.0},
+                    {"userId": %1$s, "startTime": "2024-04-03T10:00:00", "endTime": "2024-04-03T12:00:00", "activityType": "CYCLING", "distance": 40.0, "averageSpeed": 20.0},
+                    {"userId": %1$s, "startTime": "2024-04-10T10:00:00", "endTime": "2024-04-10T11:00:00", "activityType": "RUNNING", "distance": 8.0, "averageSpeed": 8.0}
+                ]
+                """.formatted(user1.getId());
+        MvcResult bulkResult = mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(4))
+                .andReturn();
+
+        recordStatements(() -> mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "WEEK").param("day", "2024-04-03"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2024-04-01"))
+                .andExpect(jsonPath("$.to").value("2024-04-07"))
+                .andExpect(jsonPath("$.trainings").value(3))
+                .andExpect(jsonPath("$.totalDistance").value(55.0))
+                .andExpect(jsonPath("$.totalDurationSeconds").value(12600))
+                .andExpect(jsonPath("$.maxSpeed").value(20.0))
+                .andExpect(jsonPath("$.activities", hasSize(2)))
+                .andExpect(jsonPath("$.activities[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$.activities[0].trainings").value(2))
+                .andExpect(jsonPath("$.activities[0].maxSpeed").value(12.0)))
+                .hasSelects(1)
+                .hasNoWrites();
+
+        Integer movedTrainingId = JsonPath.read(bulkResult.getResponse().getContentAsString(), "$.items[1].trainingId");
+        mockMvc.perform(put("/v1/trainings/{trainingId}", movedTrainingId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-04-10T12:00:00", "endTime": "2024-04-10T13:00:00", "activityType": "WALKING", "distance": 3.0, "averageSpeed": 3.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "WEEK").param("day", "2024-04-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(50.0))
+                .andExpect(jsonPath("$.activities[0].maxSpeed").value(10.0));
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "MONTH").param("day", "2024-04-20"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2024-04-01"))
+                .andExpect(jsonPath("$.to").value("2024-04-30"))
+                .andExpect(jsonPath("$.trainings").value(4))
+                .andExpect(jsonPath("$.totalDistance").value(61.0))
+                .andExpect(jsonPath("$.totalDurationSeconds").value(18000))
+                .andExpect(jsonPath("$.activities[*].activityType", contains("RUNNING", "CYCLING", "WALKING")))
+                .andExpect(jsonPath("$.activities[0].trainings").value(2));
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "YEAR").param("day", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(4));
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("period", "YEAR").param("day", "2023-04-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(0))
+                .andExpect(jsonPath("$.activities", hasSize(0)));
+    }
+
+    @Test
+    void shouldRebuildDailyRollupsFromExistingTrainings_whenRebuildingRollups() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-17 10:00:00", "2024-05-17 11:30:00", ActivityType.RUNNING, 14, 11.5));
+        persistTraining(generateTrainingWithDetails(user1, "2024-05-19 10:00:00", "2024-05-19 11:00:00", ActivityType.SWIMMING, 2, 2.0));
+
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("day", "2024-05-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(0));
+
+        mockMvc.perform(post("/v1/trainings/rollups/rebuild"))
+                .andDo(log())
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/trainings/summary/{userId}", user1.getId()).param("day", "2024-05-01"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(16.0))
+                .andExpect(jsonPath("$.totalDurationSeconds").value(9000))
+                .andExpect(jsonPath("$.maxSpeed").value(11.5));
     }
 
     private static User generateClient() {
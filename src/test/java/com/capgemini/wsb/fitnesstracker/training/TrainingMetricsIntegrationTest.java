@@ -0,0 +1,53 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureObservability
+class TrainingMetricsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExportServiceRepositoryAndCreationMetrics_whenTrainingIsCreated() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"userId": %s, "startTime": "2024-04-01T10:00:00", "endTime": "2024-04-01T11:00:00", "activityType": "SWIMMING", "distance": 2.0, "averageSpeed": 2.0}
+                        """.formatted(user1.getId())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/metrics/fitnesstracker.trainings.created").param("tag", "activityType:SWIMMING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("fitnesstracker_trainings_created_total{activityType=\"SWIMMING\",}")))
+                .andExpect(content().string(containsString("fitnesstracker_trainings_service_seconds_bucket{class=\"com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl\",exception=\"none\",method=\"createTraining\"")))
+                .andExpect(content().string(containsString("fitnesstracker_users_service_seconds_count{class=\"com.capgemini.wsb.fitnesstracker.user.internal.UserServiceImpl\",exception=\"none\",method=\"getUser\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{exception=\"None\",method=\"save\",repository=\"TrainingRepository\"")));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
@@ -0,0 +1,87 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsChangedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+class DailyTrainingRollupsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private DailyTrainingRollups rollups;
+
+    @Autowired
+    private DailyTrainingRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldAddBothTrainingsToOneRollup_whenFirstTrainingsOfDayAreCreatedConcurrently() throws Exception {
+        User user1 = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+        Training training1 = persistTraining(generateTraining(user1, "2024-05-17 08:00:00", "2024-05-17 09:00:00", 10));
+        Training training2 = persistTraining(generateTraining(user1, "2024-05-17 18:00:00", "2024-05-17 19:00:00", 5));
+        CountDownLatch firstAdded = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                rollups.onTrainingsChanged(TrainingsChangedEvent.created(TrainingSnapshot.of(training1)));
+                firstAdded.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            firstAdded.await();
+            Thread second = new Thread(() -> transactionTemplate.executeWithoutResult(status ->
+                    rollups.onTrainingsChanged(TrainingsChangedEvent.created(TrainingSnapshot.of(training2)))));
+            second.start();
+            await().atMost(Duration.ofSeconds(5)).until(() -> second.getState() != Thread.State.RUNNABLE);
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.join(5000);
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(rollupRepository.findAll())
+                .singleElement()
+                .satisfies(rollup -> {
+                    assertThat(rollup.getTrainings()).isEqualTo(2);
+                    assertThat(rollup.getTotalDistance()).isEqualTo(15.0);
+                });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Training generateTraining(User user, String startTime, String endTime, double distance) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return new Training(user, sdf.parse(startTime), sdf.parse(endTime), ActivityType.RUNNING, distance, distance);
+    }
+}
@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.QueryPlanTestConfiguration;
+import com.capgemini.wsb.fitnesstracker.QueryPlans;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Verifies that every {@link TrainingRepository} query filtering or ordering trainings is served by an index
+ * declared on the {@code trainings} table, rather than by a full table scan.
+ */
+@IntegrationTest
+@Transactional
+@Import(QueryPlanTestConfiguration.class)
+class TrainingRepositoryQueryPlanTest extends IntegrationTestBase {
+
+    private static final Limit LIMIT = Limit.of(10);
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private QueryPlans queryPlans;
+
+    @Test
+    void shouldUseIndex_whenFindingTrainingsOfUser() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findAllByUser_Id(1L));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingTrainingsOfUserInMonth() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findAllByUserIdAndMonth(1L, new Date(0), new Date()));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingFirstPageOfTrainings() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findAllByOrderByStartTimeAscIdAsc(LIMIT));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingNextPageOfTrainings() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findPageAfter(new Date(), 1L, LIMIT));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingFirstPageOfFinishedTrainings() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findAllByEndTimeAfterOrderByStartTimeAscIdAsc(new Date(), LIMIT));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingNextPageOfFinishedTrainings() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findFinishedPageAfter(new Date(), new Date(), 1L, LIMIT));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingFirstPageOfTrainingsByActivityType() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findAllByActivityTypeOrderByStartTimeAscIdAsc(ActivityType.RUNNING, LIMIT));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingNextPageOfTrainingsByActivityType() {
+        queryPlans.assertNoTableScan(() -> trainingRepository.findActivityTypePageAfter(ActivityType.RUNNING, new Date(), 1L, LIMIT));
+    }
+
+}
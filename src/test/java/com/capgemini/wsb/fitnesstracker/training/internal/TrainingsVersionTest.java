@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrainingsVersionTest {
+
+    @Test
+    void shouldTagDifferently_whenTrainingsHaveSameCountAndSumsOfIdsAndVersions() {
+        String moved = TrainingsVersion.ofVersions(List.of(row(3, 0), row(5, 0))).eTag();
+        String movedIn = TrainingsVersion.ofVersions(List.of(row(2, 0), row(6, 0))).eTag();
+        String updated = TrainingsVersion.ofVersions(List.of(row(2, 1), row(6, 0))).eTag();
+        String otherUpdated = TrainingsVersion.ofVersions(List.of(row(2, 0), row(6, 1))).eTag();
+
+        assertThat(List.of(moved, movedIn, updated, otherUpdated)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldTagEqually_whenSameTrainingsAreListedInAnotherOrder() {
+        assertThat(TrainingsVersion.ofVersions(List.of(row(6, 2), row(2, 1))))
+                .isEqualTo(TrainingsVersion.ofVersions(List.of(row(2, 1), row(6, 2))));
+    }
+
+    private static TrainingVersionRow row(long id, long version) {
+        return new TrainingVersionRow(id, version, 0);
+    }
+}
@@ -2,12 +2,16 @@ package com.capgemini.wsb.fitnesstracker.user.internal;
 
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -19,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,7 +41,7 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         User user1 = existingUser(generateUser());
         User user2 = existingUser(generateUser());
 
-        mockMvc.perform(get("/v1/users").contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/users").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -47,7 +53,9 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1].lastName").value(user2.getLastName()))
                 .andExpect(jsonPath("$[1].birthdate").value(ISO_DATE.format(user2.getBirthdate())))
 
-                .andExpect(jsonPath("$[2]").doesNotExist());
+                .andExpect(jsonPath("$[2]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
     }
 
     @Test
@@ -55,7 +63,7 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         User user1 = existingUser(generateUser());
         User user2 = existingUser(generateUser());
 
-        mockMvc.perform(get("/v1/users/simple").contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/users/simple").contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -65,43 +73,113 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1].firstName").value(user2.getFirstName()))
                 .andExpect(jsonPath("$[1].lastName").value(user2.getLastName()))
 
-                .andExpect(jsonPath("$[2]").doesNotExist());
+                .andExpect(jsonPath("$[2]").doesNotExist()))
+                .hasSelects(1)
+                .hasNoWrites();
+    }
+
+    @Test
+    void shouldReturnUsersPageByPage_whenGettingAllUsersWithPageSize() throws Exception {
+        User user1 = existingUser(generateUser());
+        User user2 = existingUser(generateUser());
+        User user3 = existingUser(generateUser());
+
+        MvcResult firstPage = mockMvc.perform(get("/v1/users").param("size", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId()))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/v1/users")
+                        .param("size", "2")
+                        .param("cursor", firstPage.getResponse().getHeader(CursorPage.NEXT_CURSOR_HEADER))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(user3.getId()))
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
     }
 
     @Test
     void shouldReturnDetailsAboutUser_whenGettingUserById() throws Exception {
         User user1 = existingUser(generateUser());
 
-        mockMvc.perform(get("/v1/users/{id}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/users/{id}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isNotEmpty())
                 .andExpect(jsonPath("$.firstName").value(user1.getFirstName()))
                 .andExpect(jsonPath("$.lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$.birthdate").value(ISO_DATE.format(user1.getBirthdate())))
-                .andExpect(jsonPath("$.email").value(user1.getEmail()));
+                .andExpect(jsonPath("$.email").value(user1.getEmail())))
+                .hasSelects(1)
+                .hasNoWrites();
+
+    }
+
+    @Test
+    void shouldReturnNotModified_whenUserIsUnchangedSinceTheTaggedVersion() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        String eTag = mockMvc.perform(get("/v1/users/{id}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
 
+        recordStatements(() -> mockMvc.perform(get("/v1/users/{id}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string("")))
+                .hasTotal(1)
+                .hasSelects(1);
+        mockMvc.perform(get("/v1/users/{id}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"7\", W/" + eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, eTag));
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"firstName": "Renamed"}
+                        """))
+                .andExpect(status().isOk());
+
+        recordStatements(() -> mockMvc.perform(get("/v1/users/{id}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.firstName").value("Renamed")))
+                .hasNoWrites();
+        mockMvc.perform(get("/v1/users/{id}", -1L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the indexes only show committed users
     void shouldReturnDetailsAboutUser_whenGettingUserByEmail() throws Exception {
         User user1 = existingUser(generateUser());
 
-        mockMvc.perform(get("/v1/users/email").param("email", user1.getEmail()).contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/users/email").param("email", user1.getEmail()).contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(user1.getId().intValue()))
-                .andExpect(jsonPath("$[0].email").value(user1.getEmail()));
+                .andExpect(jsonPath("$[0].email").value(user1.getEmail())))
+                .hasSelects(0)
+                .hasNoWrites();
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the indexes only show committed users
     void shouldReturnAllUsersOlderThan_whenGettingAllUsersOlderThan() throws Exception {
         User user1 = existingUser(generateUserWithDate(LocalDate.of(2000, 8, 11)));
         User user2 = existingUser(generateUserWithDate(LocalDate.of(2024, 8, 11)));
 
 
-        mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10)).contentType(MediaType.APPLICATION_JSON))
+        recordStatements(() -> mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10)).contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -109,7 +187,9 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$[0].birthdate").value(ISO_DATE.format(user1.getBirthdate())))
 
-                .andExpect(jsonPath("$[1]").doesNotExist());
+                .andExpect(jsonPath("$[1]").doesNotExist()))
+                .hasSelects(0)
+                .hasNoWrites();
     }
 
     @Test
@@ -117,10 +197,14 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         User user1 = existingUser(generateUser());
 
 
-        mockMvc.perform(delete("/v1/users/{userId}", user1.getId())
+        recordStatements(() -> mockMvc.perform(delete("/v1/users/{userId}", user1.getId())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(log())
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent()))
+                .hasSelects(2)
+                .hasInserts(0)
+                .hasUpdates(0)
+                .hasDeletes(1);
 
         List<User> allUser = getAllUsers();
         assertThat(allUser).isEmpty();
@@ -150,11 +234,15 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 USER_BIRTHDATE,
                 USER_EMAIL);
 
-        mockMvc.perform(post("/v1/users")
+        recordStatements(() -> mockMvc.perform(post("/v1/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(creationRequest))
                 .andDo(log())
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated()))
+                .hasSelects(0)
+                .hasInserts(1)
+                .hasUpdates(0)
+                .hasDeletes(0);
 
         List<User> allUsers = getAllUsers();
         User user = allUsers.get(0);
@@ -190,9 +278,13 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 USER_BIRTHDATE,
                 USER_EMAIL);
 
-        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+        recordStatements(() -> mockMvc.perform(put("/v1/users/{userId}", user1.getId())
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(updateRequest));
+                .content(updateRequest)))
+                .hasSelects(1)
+                .hasInserts(0)
+                .hasUpdates(1)
+                .hasDeletes(0);
 
         List<User> allUsers = getAllUsers();
         User user = allUsers.get(0);
@@ -0,0 +1,142 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.capgemini.wsb.fitnesstracker.user.internal.UserApiIntegrationTest.generateUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=metrics,caches")
+class UserCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldServeUserFromCache_whenGettingUserRepeatedly() throws Exception {
+        User user1 = existingUser(generateUser());
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value(user1.getEmail()));
+        }
+
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCacheSnapshotOfUser_whenGettingUser() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertThat(cacheManager.getCache(UserCacheConfig.USERS_CACHE).get(user1.getId()).get())
+                .isEqualTo(UserSnapshot.of(user1));
+    }
+
+    @Test
+    void shouldRefreshCachedUser_whenUpdatingUser() throws Exception {
+        User user1 = existingUser(generateUser());
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                "firstName": "Michael"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Michael"));
+    }
+
+    @Test
+    void shouldKeepUpdatedUser_whenReaderPutsSnapshotLoadedBeforeUpdate() throws Exception {
+        User user1 = existingUser(generateUser());
+        UserSnapshot loadedBeforeUpdate = UserSnapshot.of(user1);
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                "firstName": "Michael"
+                                }
+                                """))
+                .andExpect(status().isOk());
+        cacheManager.getCache(UserCacheConfig.USERS_CACHE).put(user1.getId(), loadedBeforeUpdate);
+
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Michael"));
+    }
+
+    @Test
+    void shouldEvictCachedUser_whenDeletingUser() throws Exception {
+        User user1 = existingUser(generateUser());
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/users/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldExposeCacheMetrics_whenQueryingActuator() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:users"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[*].tag").value(hasItem("result")));
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:users"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/caches/users"))
+                .andExpect(status().isOk());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserCacheConfig.USERS_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserImportIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldImportValidRowsAndReportInvalidOnes_whenImportingUsersFromCsv() throws Exception {
+        existingUser(new User("Emma", "Johnson", LocalDate.of(1990, 5, 1), "emma.johnson@domain.com"));
+
+        String csv = """
+                email,firstName,lastName,birthdate
+                john.smith@domain.com,John,Smith,1985-02-11
+                "doe, jane@domain.com","Jane \"\"JD\"\"",Doe,1992-07-30
+                ,Missing,Email,1980-01-01
+                bad.date@domain.com,Bad,Date,30-07-1992
+                emma.johnson@domain.com,Emma,Johnson,1990-05-01
+                john.smith@domain.com,John,Again,1985-02-11
+                """;
+        mockMvc.perform(post("/v1/users/import").contentType("text/csv").content(csv))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors", hasSize(4)))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].error").value("Missing email"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[1].error").value("Invalid birthdate 30-07-1992"))
+                .andExpect(jsonPath("$.errors[2].line").value(6))
+                .andExpect(jsonPath("$.errors[2].error").value("Email emma.johnson@domain.com is already taken"))
+                .andExpect(jsonPath("$.errors[3].line").value(7));
+
+        assertThat(getAllUsers())
+                .extracting(User::getFirstName)
+                .containsExactlyInAnyOrder("Emma", "John", "Jane \"JD\"");
+        mockMvc.perform(get("/v1/users/email").param("email", "doe, jane"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void shouldImportAllChunksAndDetectDuplicatesAcrossChunks_whenImportingLargeCsv() throws Exception {
+        String csv = IntStream.range(0, 2500)
+                .mapToObj(i -> "First%d,Last%d,1990-01-01,user%d@domain.com".formatted(i, i, i == 1500 ? 10 : i))
+                .collect(Collectors.joining("\n", "firstName,lastName,birthdate,email\n", "\n"));
+
+        mockMvc.perform(post("/v1/users/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2499))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(1502))
+                .andExpect(jsonPath("$.errors[0].error").value("Email user10@domain.com is already taken"));
+
+        assertThat(getAllUsers()).hasSize(2499);
+    }
+
+    @Test
+    void shouldReportRowsOfFailedChunkAndImportOtherChunks_whenSavingChunkFails() throws Exception {
+        String tooLongLastName = "L".repeat(300);
+        String csv = IntStream.range(0, 1500)
+                .mapToObj(i -> "First%d,%s,1990-01-01,user%d@domain.com".formatted(i, i == 1200 ? tooLongLastName : "Last" + i, i))
+                .collect(Collectors.joining("\n", "firstName,lastName,birthdate,email\n", "\n"));
+
+        mockMvc.perform(post("/v1/users/import").contentType("text/csv").content(csv))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1000))
+                .andExpect(jsonPath("$.failed").value(500))
+                .andExpect(jsonPath("$.errors", hasSize(500)))
+                .andExpect(jsonPath("$.errors[0].line").value(1002))
+                .andExpect(jsonPath("$.errors[0].error").value(startsWith("Chunk could not be saved: ")));
+
+        assertThat(getAllUsers()).hasSize(1000);
+    }
+
+    @Test
+    void shouldRejectFile_whenHeaderLacksColumn() throws Exception {
+        mockMvc.perform(post("/v1/users/import").contentType("text/csv").content("firstName,lastName,email\nJohn,Smith,john@domain.com\n"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(getAllUsers()).isEmpty();
+    }
+}
@@ -0,0 +1,245 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.calendar.api.CalendarProperties;
+import com.capgemini.wsb.fitnesstracker.paging.api.CursorPage;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserIndexIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailTrigramIndex emailIndex;
+
+    @Autowired
+    private UserIndexes userIndexes;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CalendarProperties calendarProperties;
+
+    @Test
+    void shouldFindUsersBySubstringIgnoringCase_whenSearchingByEmail() throws Exception {
+        User user1 = existingUser(generateUserWithEmail("Jane.Doe@Example.com"));
+        User user2 = existingUser(generateUserWithEmail("john.doe@example.org"));
+        existingUser(generateUserWithEmail("alice@sample.net"));
+
+        mockMvc.perform(get("/v1/users/email").param("email", "DOE@EXAMPLE").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[0].email").value(user1.getEmail()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId()))
+                .andExpect(jsonPath("$[1].firstName").doesNotExist());
+
+        assertThat(search(".doe@")).hasSize(2);
+        assertThat(search("@")).hasSize(3);
+        assertThat(search("doe@example.net")).isEmpty();
+        assertThat(search("z")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnUsersMatchingEmailPageByPage_whenSearchingByEmailWithPageSize() throws Exception {
+        User user1 = existingUser(generateUserWithEmail("first@domain.com"));
+        existingUser(generateUserWithEmail("other@sample.net"));
+        User user3 = existingUser(generateUserWithEmail("second@domain.com"));
+        User user4 = existingUser(generateUserWithEmail("third@domain.com"));
+
+        String cursor = mockMvc.perform(get("/v1/users/email").param("email", "@dom").param("size", "2"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[1].id").value(user3.getId()))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(CursorPage.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/v1/users/email").param("email", "@dom").param("size", "2").param("cursor", cursor))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(user4.getId()))
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+
+        assertThat(emailIndex.search("@", null, 3).items()).hasSize(3);
+        assertThat(emailIndex.search("@", null, 3).nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenSearchingByEmptyEmail() throws Exception {
+        mockMvc.perform(get("/v1/users/email").param("email", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReindexEmail_whenUpdatingUser() throws Exception {
+        User user1 = existingUser(generateUserWithEmail("old.address@domain.com"));
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                "email": "new.address@domain.com"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        assertThat(search("old.address")).isEmpty();
+        assertThat(search("new.address"))
+                .containsExactly(new UserEmailDto(user1.getId(), "new.address@domain.com"));
+    }
+
+    @Test
+    void shouldRemoveEmail_whenDeletingUser() throws Exception {
+        User user1 = existingUser(generateUserWithEmail("leaving@domain.com"));
+
+        mockMvc.perform(delete("/v1/users/{userId}", user1.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(search("leaving")).isEmpty();
+    }
+
+    @Test
+    void shouldNotIndexChanges_whenTransactionRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(generateUserWithEmail("rolled.back@domain.com"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(search("rolled.back")).isEmpty();
+    }
+
+    @Test
+    void shouldIndexChangesOnlyOnceCommitted_whenSavingUserInTransaction() {
+        User user1 = existingUser(generateUserWithEmail("committed@domain.com"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(user1.getId()).orElseThrow();
+            user.setEmail("pending@domain.com");
+            userRepository.saveAndFlush(user);
+            userRepository.saveAndFlush(generateUserWithEmail("pending.new@domain.com"));
+
+            assertThat(search("pending")).isEmpty();
+            assertThat(search("committed")).hasSize(1);
+        });
+
+        assertThat(search("committed")).isEmpty();
+        assertThat(search("pending")).hasSize(2);
+    }
+
+    @Test
+    void shouldIndexExistingUsers_whenRebuildingIndexes() {
+        User user1 = existingUser(generateUserWithEmail("existing@domain.com"));
+
+        userIndexes.rebuild();
+
+        assertThat(search("existing"))
+                .containsExactly(new UserEmailDto(user1.getId(), "existing@domain.com"));
+    }
+
+    @Test
+    void shouldReturnUsersOlderThanPageByPage_whenGettingUsersOlderThanWithPageSize() throws Exception {
+        User user1 = existingUser(generateUserWithBirthdate(LocalDate.of(1990, 5, 1)));
+        User user2 = existingUser(generateUserWithBirthdate(LocalDate.of(1980, 1, 15)));
+        User user3 = existingUser(generateUserWithBirthdate(LocalDate.of(1990, 5, 1)));
+        existingUser(generateUserWithBirthdate(LocalDate.of(2010, 3, 3)));
+
+        String cursor = mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2000, 1, 1)).param("size", "2"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].firstName").value(user2.getFirstName()))
+                .andExpect(jsonPath("$[1].firstName").value(user1.getFirstName()))
+                .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(CursorPage.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2000, 1, 1)).param("size", "2").param("cursor", cursor))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value(user3.getFirstName()))
+                .andExpect(jsonPath("$[0].birthdate").value("1990-05-01"))
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldCountUsersPerAgeBucket_whenGettingAgeDistribution() throws Exception {
+        LocalDate today = LocalDate.now(calendarProperties.getZone());
+        existingUser(generateUserWithBirthdate(today.minusYears(5)));
+        existingUser(generateUserWithBirthdate(today.minusYears(25)));
+        existingUser(generateUserWithBirthdate(today.minusYears(30).plusDays(1)));
+        User user4 = existingUser(generateUserWithBirthdate(today.minusYears(30)));
+
+        mockMvc.perform(get("/v1/users/age-distribution").param("bucketSize", "10"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].fromAge").value(0))
+                .andExpect(jsonPath("$[0].toAge").value(10))
+                .andExpect(jsonPath("$[0].users").value(1))
+                .andExpect(jsonPath("$[1].users").value(0))
+                .andExpect(jsonPath("$[2].users").value(2))
+                .andExpect(jsonPath("$[3].fromAge").value(30))
+                .andExpect(jsonPath("$[3].users").value(1));
+
+        mockMvc.perform(delete("/v1/users/{userId}", user4.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/users/age-distribution").param("bucketSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].users").value(2));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenGettingAgeDistributionWithNonPositiveBucketSize() throws Exception {
+        mockMvc.perform(get("/v1/users/age-distribution").param("bucketSize", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<UserEmailDto> search(String query) {
+        return emailIndex.search(query, null, CursorPage.MAX_SIZE).items();
+    }
+
+    private static User generateUserWithBirthdate(LocalDate birthdate) {
+        return new User(randomUUID().toString(), randomUUID().toString(), birthdate, randomUUID().toString());
+    }
+
+    private static User generateUserWithEmail(String email) {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), email);
+    }
+}
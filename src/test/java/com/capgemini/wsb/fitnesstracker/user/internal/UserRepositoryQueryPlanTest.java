@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.QueryPlanTestConfiguration;
+import com.capgemini.wsb.fitnesstracker.QueryPlans;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Verifies that every {@link UserRepository} query filtering or ordering users is served by an index
+ * declared on the {@code users} table, rather than by a full table scan.
+ *
+ * <p>The email and birthdate searches are answered by in-memory indexes, and the listing of all user IDs reads
+ * the whole table by design, so they are not verified here.</p>
+ */
+@IntegrationTest
+@Transactional
+@Import(QueryPlanTestConfiguration.class)
+class UserRepositoryQueryPlanTest extends IntegrationTestBase {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QueryPlans queryPlans;
+
+    @Test
+    void shouldUseIndex_whenFindingUserById() {
+        queryPlans.assertNoTableScan(() -> userRepository.findById(1L));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingPageOfUsers() {
+        queryPlans.assertNoTableScan(() -> userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+    }
+
+    @Test
+    void shouldUseIndex_whenFindingPageOfSimpleUsers() {
+        queryPlans.assertNoTableScan(() -> userRepository.findSimpleUsersAfter(0L, Limit.of(10)));
+    }
+
+}